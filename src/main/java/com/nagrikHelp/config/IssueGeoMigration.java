@@ -0,0 +1,73 @@
+package com.nagrikHelp.config;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.util.GeoPoints;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Backfills {@code Issue.geo} from the legacy {@code "lat,lon"} location string so older issues
+ * show up in map queries. Runs once per start on a background thread; documents whose location
+ * does not parse are skipped (and re-examined next start).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IssueGeoMigration {
+
+    private static final int BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Thread t = new Thread(this::backfillGeo, "issue-geo-migration");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    void backfillGeo() {
+        Query q = new Query(new Criteria().andOperator(
+                Criteria.where("geo").exists(false),
+                Criteria.where("location").exists(true).nin(null, "")
+        ));
+        q.fields().include("location");
+        q.cursorBatchSize(BATCH);
+        long updated = 0, skipped = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Issue> issues = mongoTemplate.stream(q, Issue.class)) {
+            for (Issue i : (Iterable<Issue>) issues::iterator) {
+                GeoJsonPoint p = GeoPoints.parse(i.getLocation());
+                if (p == null) {
+                    skipped++;
+                    continue;
+                }
+                if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Issue.class);
+                // Conditional on location so a concurrent edit is never overwritten with a stale point
+                bulk.updateOne(new Query(Criteria.where("id").is(i.getId()).and("location").is(i.getLocation()).and("geo").exists(false)),
+                        new Update().set("geo", p));
+                if (++pending == BATCH) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) updated += bulk.execute().getModifiedCount();
+        } catch (Exception e) {
+            log.warn("IssueGeoMigration: backfill aborted: {}", e.getMessage());
+        }
+        if (updated > 0 || skipped > 0) log.info("IssueGeoMigration: set geo on {} issues ({} unparseable locations)", updated, skipped);
+    }
+}
@@ -0,0 +1,134 @@
+package com.nagrikHelp.config;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.service.ImageVariantService;
+import com.nagrikHelp.service.IssueChangeTracker;
+import com.nagrikHelp.service.IssueMediaService;
+import com.nagrikHelp.util.DHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IssueImageMigration {
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueMediaService issueMediaService;
+    private final ImageVariantService imageVariantService;
+    private final IssueChangeTracker changeTracker;
+
+    @Value("${app.media.migrate-inline:true}")
+    private boolean migrateInline;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        backfillHasImage();
+        if (!migrateInline) {
+            log.info("IssueImageMigration: image migration disabled (app.media.migrate-inline=false)");
+            return;
+        }
+        Thread t = new Thread(() -> {
+            migrateInlineImages();
+            backfillVariants();
+            backfillFingerprints();
+        }, "issue-image-migration");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    void backfillHasImage() {
+        try {
+            // Single server-side update; images never leave the database
+            Query q = new Query(new Criteria().andOperator(
+                    Criteria.where("imageBase64").exists(true).nin(null, ""),
+                    Criteria.where("hasImage").ne(true)
+            ));
+            long n = mongoTemplate.updateMulti(q, new Update().set("hasImage", true), Issue.class).getModifiedCount();
+            if (n > 0) log.info("IssueImageMigration: flagged {} issues with inline images", n);
+        } catch (Exception e) {
+            log.warn("IssueImageMigration: hasImage backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Streams issues that still carry imageBase64 one small batch at a time, writes each photo to
+     * the MediaStore and swaps the inline string for the hash. The swap is conditional on
+     * updatedAt so a concurrent edit is never overwritten; such issues are picked up next start.
+     */
+    void migrateInlineImages() {
+        Query q = new Query(Criteria.where("imageBase64").exists(true).nin(null, ""));
+        q.fields().include("imageBase64").include("updatedAt");
+        q.cursorBatchSize(8);
+        long moved = 0, failed = 0;
+        try (Stream<Issue> issues = mongoTemplate.stream(q, Issue.class)) {
+            for (Issue i : (Iterable<Issue>) issues::iterator) {
+                try {
+                    String hash = issueMediaService.storeBase64(i.getImageBase64());
+                    Criteria unchanged = Criteria.where("id").is(i.getId());
+                    unchanged = i.getUpdatedAt() == null ? unchanged.and("updatedAt").is(null) : unchanged.and("updatedAt").is(i.getUpdatedAt());
+                    mongoTemplate.updateFirst(new Query(unchanged),
+                            new Update().set("imageHash", hash).set("hasImage", true).unset("imageBase64"),
+                            Issue.class);
+                    moved++;
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("IssueImageMigration: issue {} not migrated: {}", i.getId(), e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("IssueImageMigration: migration aborted: {}", e.getMessage());
+        }
+        if (moved > 0) changeTracker.bump();
+        if (moved > 0 || failed > 0) log.info("IssueImageMigration: moved {} inline images to media store ({} failed)", moved, failed);
+    }
+
+    /** Generates resized variants for stored photos that predate the variant pipeline. */
+    void backfillVariants() {
+        Query q = new Query(new Criteria().andOperator(
+                Criteria.where("imageHash").exists(true).ne(null),
+                Criteria.where("imageVariants").is(null) // missing, or nulled by older edits
+        ));
+        q.fields().include("imageHash");
+        long done = 0;
+        try (Stream<Issue> issues = mongoTemplate.stream(q, Issue.class)) {
+            for (Issue i : (Iterable<Issue>) issues::iterator) {
+                imageVariantService.generate(i.getId(), i.getImageHash());
+                done++;
+            }
+        } catch (Exception e) {
+            log.warn("IssueImageMigration: variant backfill aborted: {}", e.getMessage());
+        }
+        if (done > 0) log.info("IssueImageMigration: generated variants for {} issues", done);
+    }
+
+    /** Perceptual hashes for photos hashed before hashing existed or by an older {@link DHash#VERSION}. */
+    void backfillFingerprints() {
+        Query q = new Query(new Criteria().andOperator(
+                Criteria.where("imageHash").exists(true).ne(null),
+                Criteria.where("imageVariants").ne(null),
+                Criteria.where("imageDHashVersion").ne(DHash.VERSION)
+        ));
+        q.fields().include("imageHash");
+        long done = 0;
+        try (Stream<Issue> issues = mongoTemplate.stream(q, Issue.class)) {
+            for (Issue i : (Iterable<Issue>) issues::iterator) {
+                imageVariantService.fingerprint(i.getId(), i.getImageHash());
+                done++;
+            }
+        } catch (Exception e) {
+            log.warn("IssueImageMigration: fingerprint backfill aborted: {}", e.getMessage());
+        }
+        if (done > 0) log.info("IssueImageMigration: hashed photos of {} issues", done);
+    }
+}
@@ -0,0 +1,65 @@
+package com.nagrikHelp.config;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.service.CommentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Backfills the embedded comment preview ({@code recentComments}) on issues written before it
+ * existed, so feed pages stop falling back to issue_comments for them. Runs once per start on a
+ * background thread, like {@link IssueGeoMigration}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IssueRecentCommentsMigration {
+
+    private static final int BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final CommentService commentService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Thread t = new Thread(this::backfillRecentComments, "issue-recent-comments-migration");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    void backfillRecentComments() {
+        Query q = new Query(Criteria.where("recentComments").exists(false));
+        q.fields().include("id");
+        q.cursorBatchSize(BATCH);
+        long updated = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Issue> issues = mongoTemplate.stream(q, Issue.class)) {
+            for (Issue i : (Iterable<Issue>) issues::iterator) {
+                if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Issue.class);
+                // A comment posted meanwhile creates the array itself (CommentService fills in the rest)
+                bulk.updateOne(new Query(Criteria.where("id").is(i.getId()).and("recentComments").exists(false)),
+                        new Update().set("recentComments", commentService.newest(i.getId(), Issue.RECENT_COMMENTS)));
+                if (++pending == BATCH) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) updated += bulk.execute().getModifiedCount();
+        } catch (Exception e) {
+            log.warn("IssueRecentCommentsMigration: backfill aborted: {}", e.getMessage());
+        }
+        if (updated > 0) log.info("IssueRecentCommentsMigration: filled comment previews on {} issues", updated);
+    }
+}
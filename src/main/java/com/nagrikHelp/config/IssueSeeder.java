@@ -4,11 +4,18 @@ import com.nagrikHelp.model.Issue;
 import com.nagrikHelp.model.IssueCategory;
 import com.nagrikHelp.model.IssueStatus;
 import com.nagrikHelp.repository.IssueRepository;
+import com.nagrikHelp.service.HotScoreService;
+import com.nagrikHelp.service.IssueClusterService;
+import com.nagrikHelp.service.IssueDuplicateService;
+import com.nagrikHelp.service.IssueStatsService;
+import com.nagrikHelp.util.GeoPoints;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
@@ -21,6 +28,10 @@ import java.util.*;
 public class IssueSeeder {
 
     private final IssueRepository issueRepository;
+    private final IssueClusterService clusterService;
+    private final IssueDuplicateService duplicateService;
+    private final HotScoreService hotScoreService;
+    private final IssueStatsService statsService;
 
     @Value("${app.seed.enabled:false}")
     private boolean seedEnabled;
@@ -44,6 +55,7 @@ public class IssueSeeder {
     private final SecureRandom random = new SecureRandom();
 
     @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE) // before IssueClusterService decides whether to rebuild
     public void seedIfNeeded() {
         if (!seedEnabled) {
             log.info("IssueSeeder: seeding disabled (app.seed.enabled=false)");
@@ -74,6 +86,7 @@ public class IssueSeeder {
                     .title(title)
                     .description(description)
                     .location(location)
+                    .geo(GeoPoints.parse(location))
                     .status(status)
                     .category(category)
                     .createdBy(USERS[userIdx])
@@ -81,14 +94,23 @@ public class IssueSeeder {
                     .createdAt(createdAt)
                     .updatedAt(Date.from(Instant.ofEpochMilli(createdAt)))
                     .shareToken(UUID.randomUUID().toString())
+                    .recentComments(new ArrayList<>())
                     .build();
+            duplicateService.sign(issue);
+            hotScoreService.initialize(issue);
             batch.add(issue);
             if (batch.size() == 100) {
                 issueRepository.saveAll(batch);
+                batch.forEach(clusterService::add);
+                batch.forEach(statsService::add);
                 batch.clear();
             }
         }
-        if (!batch.isEmpty()) issueRepository.saveAll(batch);
+        if (!batch.isEmpty()) {
+            issueRepository.saveAll(batch);
+            batch.forEach(clusterService::add);
+            batch.forEach(statsService::add);
+        }
         log.info("IssueSeeder: seeding complete. Total now={}", issueRepository.count());
     }
 
@@ -0,0 +1,68 @@
+package com.nagrikHelp.config;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.service.IssueDuplicateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Backfills the near-duplicate signature ({@code dupSignature}/{@code dupBands}) on issues
+ * written before it existed, so they can be found as duplicates of new reports. Runs once per
+ * start on a background thread, like {@link IssueGeoMigration}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IssueSignatureMigration {
+
+    private static final int BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueDuplicateService duplicateService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Thread t = new Thread(this::backfillSignatures, "issue-signature-migration");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    void backfillSignatures() {
+        Query q = new Query(Criteria.where("dupBands").exists(false));
+        q.fields().include("title").include("description");
+        q.cursorBatchSize(BATCH);
+        long updated = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Issue> issues = mongoTemplate.stream(q, Issue.class)) {
+            for (Issue i : (Iterable<Issue>) issues::iterator) {
+                duplicateService.sign(i);
+                if (i.getDupBands() == null) continue; // nothing to sign (blank text)
+                if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Issue.class);
+                // Conditional on the text so a concurrent edit keeps its own, fresher signature
+                bulk.updateOne(new Query(Criteria.where("id").is(i.getId()).and("title").is(i.getTitle())
+                                .and("description").is(i.getDescription()).and("dupBands").exists(false)),
+                        new Update().set("dupSignature", i.getDupSignature()).set("dupBands", i.getDupBands()));
+                if (++pending == BATCH) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) updated += bulk.execute().getModifiedCount();
+        } catch (Exception e) {
+            log.warn("IssueSignatureMigration: backfill aborted: {}", e.getMessage());
+        }
+        if (updated > 0) log.info("IssueSignatureMigration: signed {} issues", updated);
+    }
+}
@@ -0,0 +1,46 @@
+package com.nagrikHelp.config;
+
+import com.nagrikHelp.model.Comment;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.Vote;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared via annotations on our documents. Spring Boot leaves
+ * auto-index-creation off, so without this the compound keyset indexes would never exist.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> INDEXED_TYPES = List.of(Issue.class, Vote.class, Comment.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : INDEXED_TYPES) {
+            IndexOperations ops = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(def -> {
+                try {
+                    ops.ensureIndex(def);
+                } catch (Exception e) {
+                    log.warn("Index creation failed for {} {}: {}", type.getSimpleName(), def.getIndexKeys(), e.getMessage());
+                }
+            });
+        }
+        log.info("Mongo indexes ensured for {}", INDEXED_TYPES.stream().map(Class::getSimpleName).toList());
+    }
+}
@@ -1,5 +1,6 @@
 package com.nagrikHelp.config;
 
+import com.nagrikHelp.util.PageResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,6 +36,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/media/**").permitAll() // loaded by <img>, no auth header
+                        .requestMatchers(HttpMethod.HEAD, "/api/media/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/citizen/notifications/stream").permitAll() // SSE manual JWT check
                         .requestMatchers("/api/admin/**").hasAnyRole("ADMIN", "SUPER_ADMIN")
                         .requestMatchers("/api/citizen/**").hasRole("CITIZEN")
@@ -61,6 +64,7 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(List.of("http://localhost:3000", "http://127.0.0.1:3000", "*"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        config.setExposedHeaders(List.of(PageResponses.NEXT_CURSOR_HEADER, PageResponses.TRUNCATED_HEADER, "ETag", "Content-Range"));
         config.setAllowCredentials(false);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -10,6 +10,7 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
@@ -42,7 +43,8 @@ public class ShareTokenMigration {
                     do { token = UUID.randomUUID().toString(); } while (used.contains(token));
                     used.add(token);
                     issue.setShareToken(token);
-                    mongoTemplate.save(issue);
+                    mongoTemplate.updateFirst(new Query(Criteria.where("id").is(issue.getId())),
+                            new Update().set("shareToken", token), Issue.class);
                 }
                 log.info("ShareToken migration: completed");
             } else {
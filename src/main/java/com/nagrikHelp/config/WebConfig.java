@@ -1,6 +1,10 @@
 package com.nagrikHelp.config;
 
+import com.nagrikHelp.util.PageResponses;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -9,6 +13,25 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
 
+    // @EnableWebMvc switches off Boot's spring.mvc.async.* handling, so streamed responses are configured here
+    @Value("${app.async.timeout-ms:1800000}")
+    private long asyncTimeoutMs;
+
+    @Value("${app.async.threads:4}")
+    private int asyncThreads;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncThreads);
+        executor.setMaxPoolSize(asyncThreads);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // Allow the React dev server to access our API during development
@@ -18,6 +41,7 @@ public class WebConfig implements WebMvcConfigurer {
         .allowedOriginPatterns("http://localhost:*", "http://127.0.0.1:*")
         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
         .allowedHeaders("*")
+        .exposedHeaders(PageResponses.NEXT_CURSOR_HEADER, PageResponses.TRUNCATED_HEADER)
         .allowCredentials(true)
         .maxAge(3600);
     }
@@ -4,19 +4,34 @@ import com.nagrikHelp.dto.*;
 import com.nagrikHelp.model.IssueStatus;
 import com.nagrikHelp.model.User;
 import com.nagrikHelp.service.AuthService;
+import com.nagrikHelp.service.ImageDuplicateService;
+import com.nagrikHelp.service.IssueClusterService;
+import com.nagrikHelp.service.IssueDetailCache;
+import com.nagrikHelp.service.IssueEtagService;
+import com.nagrikHelp.service.IssueExportService;
 import com.nagrikHelp.service.IssueService;
+import com.nagrikHelp.service.IssueStatsService;
+import com.nagrikHelp.service.IssueStreamService;
 import com.nagrikHelp.service.NotificationService;
+import com.nagrikHelp.service.NotificationStreamService;
 import com.nagrikHelp.service.ReportService;
+import com.nagrikHelp.service.UserVoteIndex;
+import com.nagrikHelp.util.ConditionalGet;
+import com.nagrikHelp.util.PageResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +44,15 @@ public class AdminController {
     private final AuthService authService;
     private final ReportService reportService;
     private final NotificationService notificationService;
+    private final IssueEtagService issueEtagService;
+    private final IssueExportService issueExportService;
+    private final IssueDetailCache issueDetailCache;
+    private final IssueClusterService issueClusterService;
+    private final ImageDuplicateService imageDuplicateService;
+    private final IssueStatsService issueStatsService;
+    private final UserVoteIndex userVoteIndex;
+    private final IssueStreamService issueStreamService;
+    private final NotificationStreamService notificationStreamService;
 
     @GetMapping("/ping")
     public ResponseEntity<?> ping(@AuthenticationPrincipal UserDetails user) {
@@ -36,16 +60,57 @@ public class AdminController {
     }
 
     @GetMapping("/issues")
-    public List<IssueResponse> getAll(@RequestParam(value = "status", required = false) String status) {
+    public ResponseEntity<List<IssueResponse>> getAll(@RequestParam(value = "status", required = false) String status,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "limit", required = false) Integer limit,
+                                                      WebRequest request) {
         if (status == null || status.isBlank()) {
-            return issueService.getAllIssuesCompat();
+            if (ConditionalGet.notModified(request, issueEtagService.list("admin", null, cursor, limit))) return null;
+            return PageResponses.ok(issueService.getAllIssuesCompat(cursor, limit));
         }
+        IssueStatus st;
         try {
-            IssueStatus st = IssueStatus.valueOf(status.trim().toUpperCase().replace('-', '_'));
-            return issueService.getIssuesByStatus(st);
+            st = IssueStatus.valueOf(status.trim().toUpperCase().replace('-', '_'));
         } catch (IllegalArgumentException e) {
-            return List.of();
+            return ResponseEntity.ok(List.of());
         }
+        if (ConditionalGet.notModified(request, issueEtagService.list("admin", st, cursor, limit))) return null;
+        return PageResponses.ok(issueService.getIssuesByStatus(st, cursor, limit));
+    }
+
+    // Dashboard counts per status x category x assignee, from the precomputed issue_stats cells
+    @GetMapping("/issues/stats")
+    public ResponseEntity<IssueStatsDto> stats(WebRequest request) {
+        if (ConditionalGet.notModified(request, issueEtagService.list("stats"))) return null;
+        return ResponseEntity.ok(issueStatsService.stats());
+    }
+
+    // Streams every matching issue from a Mongo cursor; memory stays flat however many there are
+    @GetMapping("/issues/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "status", required = false) String status,
+                                                        @RequestParam(value = "format", defaultValue = "json") String format) {
+        IssueStatus st;
+        IssueExportService.Format fmt;
+        try {
+            st = (status == null || status.isBlank()) ? null : IssueStatus.valueOf(status.trim().toUpperCase().replace('-', '_'));
+            fmt = IssueExportService.Format.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean ndjson = fmt == IssueExportService.Format.NDJSON;
+        String filename = "issues" + (st != null ? "-" + st.name().toLowerCase() : "") + (ndjson ? ".ndjson" : ".json");
+        StreamingResponseBody body = out -> issueExportService.write(st, fmt, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // Pairs of recently updated issues carrying the same or a near-identical photo
+    @GetMapping("/issues/photo-duplicates")
+    public ResponseEntity<List<PhotoMatchDto>> photoDuplicates(@RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                               @RequestParam(value = "maxDistance", required = false) Integer maxDistance) {
+        return ResponseEntity.ok(imageDuplicateService.recentDuplicates(limit, maxDistance));
     }
 
     @PatchMapping("/issues/{id}")
@@ -121,6 +186,34 @@ public class AdminController {
                 .body(pdf);
     }
 
+    @GetMapping("/cache/issues")
+    public ResponseEntity<Map<String, Object>> issueCacheStats() {
+        return ResponseEntity.ok(issueDetailCache.stats());
+    }
+
+    // SSE fan-out health: subscribers, queue depth, dropped/coalesced events, forced disconnects, reaped stalls
+    @GetMapping("/streams")
+    public ResponseEntity<Map<String, Object>> streamStats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("issues", issueStreamService.stats());
+        out.put("notifications", notificationStreamService.stats());
+        return ResponseEntity.ok(out);
+    }
+
+    @GetMapping("/cache/user-votes")
+    public ResponseEntity<Map<String, Object>> userVoteIndexStats() {
+        return ResponseEntity.ok(userVoteIndex.stats());
+    }
+
+    // Repairs map cluster counts from the issues collection; runs in the background
+    @PostMapping("/clusters/rebuild")
+    public ResponseEntity<?> rebuildClusters() {
+        if (!issueClusterService.startRebuild()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Cluster rebuild already running"));
+        }
+        return ResponseEntity.accepted().build();
+    }
+
     @PostMapping("/notifications/test")
     public ResponseEntity<?> testNotification(@RequestParam String email,
                                               @RequestParam(required = false) String issueId,
@@ -4,13 +4,18 @@ import com.nagrikHelp.dto.CreateIssueRequest;
 import com.nagrikHelp.dto.IssueResponse;
 import com.nagrikHelp.dto.IssueResponseDto;
 import com.nagrikHelp.dto.CitizenUpdateIssueRequest;
+import com.nagrikHelp.repository.IssueSort;
+import com.nagrikHelp.service.IssueEtagService;
 import com.nagrikHelp.service.IssueService;
+import com.nagrikHelp.util.ConditionalGet;
+import com.nagrikHelp.util.PageResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,6 +25,7 @@ import java.util.List;
 public class CitizenController {
 
     private final IssueService issueService;
+    private final IssueEtagService issueEtagService;
 
     @GetMapping("/ping")
     public ResponseEntity<?> ping(@AuthenticationPrincipal UserDetails user) {
@@ -27,8 +33,12 @@ public class CitizenController {
     }
 
     @GetMapping("/issues")
-    public List<IssueResponse> myIssues(@AuthenticationPrincipal UserDetails user) {
-        return issueService.getIssuesForUser(user.getUsername());
+    public ResponseEntity<List<IssueResponse>> myIssues(@AuthenticationPrincipal UserDetails user,
+                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam(value = "limit", required = false) Integer limit,
+                                                        WebRequest request) {
+        if (ConditionalGet.notModified(request, issueEtagService.list("mine", user.getUsername(), cursor, limit))) return null;
+        return PageResponses.ok(issueService.getIssuesForUser(user.getUsername(), cursor, limit));
     }
 
     @PostMapping("/issues")
@@ -38,8 +48,15 @@ public class CitizenController {
     }
 
     @GetMapping("/public/issues")
-    public List<IssueResponseDto> publicIssues() {
-        return issueService.getAllIssues();
+    public ResponseEntity<List<IssueResponseDto>> publicIssues(@RequestParam(value = "sort", required = false) String sort,
+                                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                                               @RequestParam(value = "limit", required = false) Integer limit,
+                                                               @AuthenticationPrincipal UserDetails user,
+                                                               WebRequest request) {
+        IssueSort order = IssueSort.parse(sort);
+        String uid = user != null ? user.getUsername() : null;
+        if (ConditionalGet.notModified(request, issueEtagService.list("all", order, cursor, limit, uid))) return null;
+        return PageResponses.ok(issueService.getAllIssues(order, cursor, limit, uid));
     }
 
     @PatchMapping("/issues/{id}")
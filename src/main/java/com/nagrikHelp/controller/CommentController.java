@@ -3,6 +3,7 @@ package com.nagrikHelp.controller;
 import com.nagrikHelp.dto.CommentRequestDto;
 import com.nagrikHelp.dto.CommentResponseDto;
 import com.nagrikHelp.dto.CommentsPageDto;
+import com.nagrikHelp.dto.CursorPage;
 import com.nagrikHelp.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -30,12 +31,18 @@ public class CommentController {
         return ResponseEntity.ok(created);
     }
 
+    // ?after=<nextCursor> pages by cursor (pass after= empty for the first page); otherwise ?page= offsets
     @GetMapping
     public ResponseEntity<CommentsPageDto> list(@PathVariable String issueId,
                                                 @RequestParam(defaultValue = "0") int page,
-                                                @RequestParam(defaultValue = "20") int size) {
-        List<CommentResponseDto> items = commentService.getComments(issueId, page, size);
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @RequestParam(required = false) String after) {
         long total = commentService.count(issueId);
+        if (after != null) {
+            CursorPage<CommentResponseDto> p = commentService.page(issueId, after, size);
+            return ResponseEntity.ok(new CommentsPageDto(issueId, 0, size, total, p.getItems(), p.getNextCursor()));
+        }
+        List<CommentResponseDto> items = commentService.getComments(issueId, page, size);
         return ResponseEntity.ok(new CommentsPageDto(issueId, page, size, total, items));
     }
 }
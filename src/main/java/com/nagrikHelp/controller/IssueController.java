@@ -1,16 +1,34 @@
 package com.nagrikHelp.controller;
 
+import com.nagrikHelp.dto.IssueClusterDto;
 import com.nagrikHelp.dto.IssueRequestDto;
 import com.nagrikHelp.dto.IssueResponseDto;
+import com.nagrikHelp.dto.IssueSummaryDto;
+import com.nagrikHelp.dto.PhotoMatchDto;
+import com.nagrikHelp.model.IssueCategory;
+import com.nagrikHelp.model.IssueStatus;
+import com.nagrikHelp.repository.IssueSort;
+import com.nagrikHelp.service.ImageDuplicateService;
+import com.nagrikHelp.service.IssueClusterService;
+import com.nagrikHelp.service.IssueDuplicateService;
+import com.nagrikHelp.service.IssueEtagService;
+import com.nagrikHelp.service.IssueSearchService;
 import com.nagrikHelp.service.IssueService;
+import com.nagrikHelp.util.ConditionalGet;
+import com.nagrikHelp.util.PageResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/issues")
@@ -18,6 +36,11 @@ import java.util.List;
 public class IssueController {
 
     private final IssueService issueService;
+    private final IssueEtagService issueEtagService;
+    private final IssueClusterService issueClusterService;
+    private final IssueSearchService issueSearchService;
+    private final IssueDuplicateService issueDuplicateService;
+    private final ImageDuplicateService imageDuplicateService;
 
     @PostMapping
     public ResponseEntity<IssueResponseDto> create(
@@ -28,15 +51,138 @@ public class IssueController {
         return ResponseEntity.ok(created);
     }
 
+    // Pre-submit check: open look-alikes near the draft's location, so the client can offer an upvote instead
+    @PostMapping("/duplicates")
+    public ResponseEntity<List<IssueSummaryDto>> duplicates(@RequestBody IssueRequestDto draft) {
+        return ResponseEntity.ok(issueDuplicateService.candidates(draft.getTitle(), draft.getDescription(),
+                draft.getCategory(), draft.getLocation(), null));
+    }
+
+    // sort=recent (default, last updated first) or sort=hot (decayed votes/comments/recency)
     @GetMapping
-    public List<IssueResponseDto> all() {
-        return issueService.getAllIssues();
+    public ResponseEntity<List<IssueResponseDto>> all(@RequestParam(value = "sort", required = false) String sort,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "limit", required = false) Integer limit,
+                                                      @AuthenticationPrincipal UserDetails user,
+                                                      WebRequest request) {
+        IssueSort order = IssueSort.parse(sort);
+        String uid = user != null ? user.getUsername() : null;
+        if (ConditionalGet.notModified(request, issueEtagService.list("all", order, cursor, limit, uid))) return null;
+        return PageResponses.ok(issueService.getAllIssues(order, cursor, limit, uid));
+    }
+
+    // Card/map read model: no description, comments or image bytes
+    @GetMapping("/summaries")
+    public ResponseEntity<List<IssueSummaryDto>> summaries(@RequestParam(value = "status", required = false) String status,
+                                                           @RequestParam(value = "sort", required = false) String sort,
+                                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                                           @RequestParam(value = "limit", required = false) Integer limit,
+                                                           WebRequest request) {
+        IssueStatus st = parseStatus(status);
+        IssueSort order = IssueSort.parse(sort);
+        if (ConditionalGet.notModified(request, issueEtagService.list("summaries", st, order, cursor, limit))) return null;
+        return PageResponses.ok(issueService.getIssueSummaries(st, order, cursor, limit));
+    }
+
+    // Map: issues within radiusKm of a point
+    @GetMapping("/near")
+    public ResponseEntity<List<IssueSummaryDto>> near(@RequestParam("lat") double lat,
+                                                      @RequestParam("lon") double lon,
+                                                      @RequestParam(value = "radiusKm", defaultValue = "2") double radiusKm,
+                                                      @RequestParam(value = "status", required = false) String status,
+                                                      @RequestParam(value = "category", required = false) String category,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "limit", required = false) Integer limit,
+                                                      WebRequest request) {
+        IssueStatus st = parseStatus(status);
+        IssueCategory cat = parseCategory(category);
+        if (ConditionalGet.notModified(request, issueEtagService.list("near", lat, lon, radiusKm, st, cat, cursor, limit))) return null;
+        return PageResponses.ok(issueService.getIssuesNear(lat, lon, radiusKm, st, cat, cursor, limit));
+    }
+
+    // Map: issues inside the viewport's bounding box
+    @GetMapping("/within")
+    public ResponseEntity<List<IssueSummaryDto>> within(@RequestParam("minLat") double minLat,
+                                                        @RequestParam("minLon") double minLon,
+                                                        @RequestParam("maxLat") double maxLat,
+                                                        @RequestParam("maxLon") double maxLon,
+                                                        @RequestParam(value = "status", required = false) String status,
+                                                        @RequestParam(value = "category", required = false) String category,
+                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam(value = "limit", required = false) Integer limit,
+                                                        WebRequest request) {
+        IssueStatus st = parseStatus(status);
+        IssueCategory cat = parseCategory(category);
+        if (ConditionalGet.notModified(request, issueEtagService.list("within", minLat, minLon, maxLat, maxLon, st, cat, cursor, limit))) return null;
+        return PageResponses.ok(issueService.getIssuesInBox(minLat, minLon, maxLat, maxLon, st, cat, cursor, limit));
+    }
+
+    // Map clusters for the viewport at city/region zoom; precision defaults to the finest that fits
+    @GetMapping("/clusters")
+    public ResponseEntity<List<IssueClusterDto>> clusters(@RequestParam("minLat") double minLat,
+                                                          @RequestParam("minLon") double minLon,
+                                                          @RequestParam("maxLat") double maxLat,
+                                                          @RequestParam("maxLon") double maxLon,
+                                                          @RequestParam(value = "precision", required = false) Integer precision,
+                                                          @RequestParam(value = "status", required = false) String status,
+                                                          @RequestParam(value = "category", required = false) String category,
+                                                          WebRequest request) {
+        IssueStatus st = parseStatus(status);
+        IssueCategory cat = parseCategory(category);
+        if (ConditionalGet.notModified(request, issueEtagService.list("clusters", minLat, minLon, maxLat, maxLon, precision, st, cat))) return null;
+        return ResponseEntity.ok(issueClusterService.clusters(minLat, minLon, maxLat, maxLon, precision, st, cat));
+    }
+
+    // Relevance-ranked search over titles, descriptions and comments; geo is either radius or bbox
+    @GetMapping("/search")
+    public ResponseEntity<List<IssueSummaryDto>> search(@RequestParam("q") String q,
+                                                        @RequestParam(value = "status", required = false) String status,
+                                                        @RequestParam(value = "category", required = false) String category,
+                                                        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(value = "lat", required = false) Double lat,
+                                                        @RequestParam(value = "lon", required = false) Double lon,
+                                                        @RequestParam(value = "radiusKm", required = false) Double radiusKm,
+                                                        @RequestParam(value = "minLat", required = false) Double minLat,
+                                                        @RequestParam(value = "minLon", required = false) Double minLon,
+                                                        @RequestParam(value = "maxLat", required = false) Double maxLat,
+                                                        @RequestParam(value = "maxLon", required = false) Double maxLon,
+                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam(value = "limit", required = false) Integer limit,
+                                                        WebRequest request) {
+        IssueStatus st = parseStatus(status);
+        IssueCategory cat = parseCategory(category);
+        IssueSearchService.Filters filters = IssueSearchService.Filters.of(st, cat, from, to,
+                lat, lon, radiusKm, minLat, minLon, maxLat, maxLon);
+        if (ConditionalGet.notModified(request, issueEtagService.list("search", q, st, cat, from, to,
+                lat, lon, radiusKm, minLat, minLon, maxLat, maxLon, cursor, limit))) return null;
+        return PageResponses.ok(issueSearchService.search(q, filters, cursor, limit));
+    }
+
+    // Issues with the same or a near-identical photo; empty until the photo has been processed
+    @GetMapping("/{id}/similar-photos")
+    public ResponseEntity<List<PhotoMatchDto>> similarPhotos(@PathVariable String id,
+                                                             @RequestParam(value = "maxDistance", required = false) Integer maxDistance) {
+        return imageDuplicateService.similarTo(id, maxDistance).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<IssueResponseDto> getOne(@PathVariable String id) {
-        return issueService.getIssueById(id)
+    public ResponseEntity<IssueResponseDto> getOne(@PathVariable String id, WebRequest request) {
+        Optional<String> etag = issueEtagService.detail(id);
+        if (etag.isEmpty()) return ResponseEntity.notFound().build();
+        if (ConditionalGet.notModified(request, etag.get())) return null;
+        return issueService.getIssueById(id, null, etag.get())
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    private static IssueStatus parseStatus(String status) {
+        return (status == null || status.isBlank()) ? null
+                : IssueStatus.valueOf(status.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    private static IssueCategory parseCategory(String category) {
+        return (category == null || category.isBlank()) ? null
+                : IssueCategory.valueOf(category.trim().toUpperCase(Locale.ROOT));
+    }
 }
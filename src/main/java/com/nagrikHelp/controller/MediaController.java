@@ -0,0 +1,149 @@
+package com.nagrikHelp.controller;
+
+import com.nagrikHelp.service.IssueMediaService;
+import com.nagrikHelp.service.MediaBlob;
+import com.nagrikHelp.service.MediaStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+public class MediaController {
+
+    // Content is addressed by its hash, so a URL's bytes can never change
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private final IssueMediaService issueMediaService;
+    private final MediaStore mediaStore;
+
+    @GetMapping("/{hash:[0-9a-f]{64}}")
+    public void media(@PathVariable String hash, HttpServletRequest req, HttpServletResponse res) throws IOException {
+        MediaBlob blob = mediaStore.open(hash).orElse(null);
+        if (blob == null) {
+            res.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String etag = "\"" + hash + "\"";
+        res.setHeader(HttpHeaders.ETAG, etag);
+        res.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        res.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etagMatches(req.getHeader(HttpHeaders.IF_NONE_MATCH), hash)) {
+            res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long total = blob.length();
+        long start = 0, end = total - 1;
+        String range = req.getHeader(HttpHeaders.RANGE);
+        String ifRange = req.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || etag.equals(ifRange.trim()))) {
+            long[] r = parseRange(range, total);
+            if (r == null) {
+                res.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + total);
+                res.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            if (r.length == 2) {
+                start = r[0];
+                end = r[1];
+                res.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                res.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + total);
+            }
+        }
+        long length = end - start + 1;
+        res.setContentType(blob.contentType() != null ? blob.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        res.setContentLengthLong(length);
+        if ("HEAD".equals(req.getMethod()) || length <= 0) return;
+
+        // Local blobs: hand the file to Tomcat's sendfile so bytes go disk -> socket in the kernel
+        Optional<Path> file = blob.localPath();
+        if (file.isPresent() && Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPPORT))) {
+            req.setAttribute("org.apache.tomcat.sendfile.filename", file.get().toString());
+            req.setAttribute("org.apache.tomcat.sendfile.start", start);
+            req.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+        blob.transferTo(start, length, Channels.newChannel(res.getOutputStream()));
+    }
+
+    @GetMapping("/issues/{id}")
+    public ResponseEntity<?> issueImage(@PathVariable String id) {
+        Optional<String> hash = issueMediaService.findImageHash(id);
+        if (hash.isPresent()) {
+            // Redirect to the immutable hash URL so browsers and CDNs cache the bytes once
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create("/api/media/" + hash.get()))
+                    .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                    .build();
+        }
+        return issueMediaService.loadIssueImage(id)
+                .<ResponseEntity<?>>map(img -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(img.contentType()))
+                        .contentLength(img.bytes().length)
+                        .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                        .body(img.bytes()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String hash) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.equals("*")) return true;
+            if (t.startsWith("W/")) t = t.substring(2);
+            if (t.equals("\"" + hash + "\"")) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Single byte range per RFC 9110. Returns {start, end} inclusive, an empty array when the
+     * header should be ignored (malformed or multi-range, so the full body is sent), or null
+     * when unsatisfiable.
+     */
+    static long[] parseRange(String header, long total) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return new long[0];
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return new long[0];
+        try {
+            String a = spec.substring(0, dash).trim();
+            String b = spec.substring(dash + 1).trim();
+            long start, end;
+            if (a.isEmpty()) { // suffix: last N bytes
+                if (b.isEmpty()) return new long[0];
+                long n = Long.parseLong(b);
+                if (n <= 0 || total == 0) return null;
+                start = Math.max(0, total - n);
+                end = total - 1;
+            } else {
+                start = Long.parseLong(a);
+                end = b.isEmpty() ? total - 1 : Math.min(Long.parseLong(b), total - 1);
+                if (start >= total) return null;
+                if (end < start) return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -4,13 +4,17 @@ import com.nagrikHelp.dto.FollowRequest;
 import com.nagrikHelp.dto.IssueResponse;
 import com.nagrikHelp.dto.PublicIssueResponse;
 import com.nagrikHelp.dto.ShareSmsRequest;
+import com.nagrikHelp.service.IssueEtagService;
 import com.nagrikHelp.service.IssueService;
 import com.nagrikHelp.service.NotificationService;
+import com.nagrikHelp.util.ConditionalGet;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 @RestController
@@ -20,13 +24,18 @@ public class PublicIssueController {
 
     private final IssueService issueService;
     private final NotificationService notificationService;
+    private final IssueEtagService issueEtagService;
     private static final Pattern E164 = Pattern.compile("^\\+?[1-9]\\d{7,14}$");
 
     @GetMapping("/{token}")
     public ResponseEntity<PublicIssueResponse> getByShareToken(@PathVariable("token") String token,
                                                                @RequestParam(value = "email", required = false) String email,
-                                                               @RequestParam(value = "phone", required = false) String phone) {
-        return issueService.getIssueByShareToken(token, email, phone)
+                                                               @RequestParam(value = "phone", required = false) String phone,
+                                                               WebRequest request) {
+        Optional<String> etag = issueEtagService.shared(token);
+        if (etag.isEmpty()) return ResponseEntity.notFound().build();
+        if (ConditionalGet.notModified(request, IssueEtagService.forCaller(etag.get(), email, phone))) return null;
+        return issueService.getIssueByShareToken(token, email, phone, etag.get())
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
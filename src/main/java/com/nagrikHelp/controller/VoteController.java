@@ -2,6 +2,7 @@ package com.nagrikHelp.controller;
 
 import com.nagrikHelp.dto.IssueVoteSummaryDto;
 import com.nagrikHelp.dto.VoteRequestDto;
+import com.nagrikHelp.dto.VoteSummaryRequest;
 import com.nagrikHelp.model.VoteValue;
 import com.nagrikHelp.service.VoteService;
 import jakarta.validation.Valid;
@@ -11,14 +12,16 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
-@RequestMapping("/api/issues/{issueId}/votes")
+@RequestMapping("/api/issues")
 @RequiredArgsConstructor
 public class VoteController {
 
     private final VoteService voteService;
 
-    @PostMapping
+    @PostMapping("/{issueId}/votes")
     public ResponseEntity<IssueVoteSummaryDto> vote(@PathVariable String issueId,
                                                     @Valid @RequestBody VoteRequestDto req,
                                                     @AuthenticationPrincipal UserDetails user) {
@@ -27,10 +30,18 @@ public class VoteController {
         return ResponseEntity.ok(summary);
     }
 
-    @GetMapping
+    @GetMapping("/{issueId}/votes")
     public ResponseEntity<IssueVoteSummaryDto> summary(@PathVariable String issueId,
                                                        @AuthenticationPrincipal UserDetails user) {
         String uid = user != null ? user.getUsername() : "__anon__";
         return ResponseEntity.ok(voteService.summarize(issueId, uid));
     }
+
+    // One round trip for a whole page of cards instead of GET /{id}/votes per card
+    @PostMapping("/votes/summary")
+    public ResponseEntity<List<IssueVoteSummaryDto>> summaries(@Valid @RequestBody VoteSummaryRequest req,
+                                                               @AuthenticationPrincipal UserDetails user) {
+        String uid = user != null ? user.getUsername() : "__anon__";
+        return ResponseEntity.ok(voteService.summarize(req.getIssueIds(), uid));
+    }
 }
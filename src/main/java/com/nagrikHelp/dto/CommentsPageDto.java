@@ -15,4 +15,9 @@ public class CommentsPageDto {
     private int size;
     private long total;
     private List<CommentResponseDto> items;
+    private String nextCursor; // cursor mode (?after=) only; null on the last page
+
+    public CommentsPageDto(String issueId, int page, int size, long total, List<CommentResponseDto> items) {
+        this(issueId, page, size, total, items, null);
+    }
 }
@@ -0,0 +1,25 @@
+package com.nagrikHelp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // null when there are no further pages
+    private boolean truncated; // the result set was capped, so some matches are missing from every page
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, false);
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(items), nextCursor, truncated);
+    }
+}
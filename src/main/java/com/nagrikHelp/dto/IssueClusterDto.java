@@ -0,0 +1,19 @@
+package com.nagrikHelp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueClusterDto {
+    private String cell; // geohash
+    private double lat; // centroid of the issues in the cell
+    private double lon;
+    private long count;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCategory;
+}
@@ -3,6 +3,7 @@ package com.nagrikHelp.dto;
 import com.nagrikHelp.model.Issue;
 import com.nagrikHelp.model.IssueStatus;
 import com.nagrikHelp.model.IssueCategory;
+import com.nagrikHelp.util.MediaUrls;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,6 +23,7 @@ public class IssueResponse {
     private long updatedAt;
     private IssueCategory category;
     private String imageBase64;
+    private String imageUrl;
     private String assignedTo;
     private String shareToken;
 
@@ -38,6 +40,7 @@ public class IssueResponse {
         r.setUpdatedAt(i.getUpdatedAt() != null ? i.getUpdatedAt().getTime() : 0L);
         r.setCategory(i.getCategory());
         r.setImageBase64(i.getImageBase64());
+        r.setImageUrl(MediaUrls.image(i));
         r.setAssignedTo(i.getAssignedTo());
         r.setShareToken(i.getShareToken());
         return r;
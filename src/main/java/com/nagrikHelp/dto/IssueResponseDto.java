@@ -3,6 +3,7 @@ package com.nagrikHelp.dto;
 import com.nagrikHelp.model.Issue;
 import com.nagrikHelp.model.IssueCategory;
 import com.nagrikHelp.model.IssueStatus;
+import com.nagrikHelp.util.MediaUrls;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -30,8 +31,11 @@ public class IssueResponseDto {
     private List<CommentResponseDto> recentComments;
     // added media fields so FE can show images
     private String photoUrl;
-    private String imageBase64;
+    private String imageBase64; // detail views only; list endpoints leave this null and use imageUrl
+    private String imageUrl;
+    private String thumbnailUrl;
     private String shareToken; // added
+    private List<IssueSummaryDto> possibleDuplicates; // create response only: open look-alikes nearby
 
     @Data
     @NoArgsConstructor
@@ -59,6 +63,8 @@ public class IssueResponseDto {
         // populate new media fields
         dto.setPhotoUrl(i.getPhotoUrl());
         dto.setImageBase64(i.getImageBase64());
+        dto.setImageUrl(MediaUrls.image(i));
+        dto.setThumbnailUrl(MediaUrls.thumbnail(i));
         dto.setShareToken(i.getShareToken());
         return dto;
     }
@@ -71,6 +77,13 @@ public class IssueResponseDto {
         return dto;
     }
 
+    /** Shallow copy, so cached instances are never mutated by per-request overlays. */
+    public IssueResponseDto copy() {
+        return new IssueResponseDto(id, title, description, category, status, location, createdAt, createdBy,
+                upVotes, downVotes, userVote, commentsCount, recentComments, photoUrl, imageBase64, imageUrl,
+                thumbnailUrl, shareToken, possibleDuplicates);
+    }
+
     public IssueResponseDto withComments(long count, List<CommentResponseDto> recent) {
         this.setCommentsCount(count);
         this.setRecentComments(recent);
@@ -0,0 +1,30 @@
+package com.nagrikHelp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/** Issue counts for dashboards; the facet maps are roll-ups of {@code cells}. Null keys are reported as "NONE". */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueStatsDto {
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCategory;
+    private Map<String, Long> byAssignee;
+    private List<Cell> cells;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cell {
+        private String status;
+        private String category;
+        private String assignedTo;
+        private long count;
+    }
+}
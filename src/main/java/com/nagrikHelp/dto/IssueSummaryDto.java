@@ -0,0 +1,43 @@
+package com.nagrikHelp.dto;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.IssueCategory;
+import com.nagrikHelp.model.IssueStatus;
+import com.nagrikHelp.util.MediaUrls;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Lightweight card/map read model; never carries image bytes. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueSummaryDto {
+    private String id;
+    private String title;
+    private IssueStatus status;
+    private IssueCategory category;
+    private String location;
+    private long createdAt;
+    private long updatedAt;
+    private long upVotes;
+    private long downVotes;
+    private long commentsCount;
+    private String thumbnailUrl;
+
+    public static IssueSummaryDto from(Issue i, long commentsCount) {
+        IssueSummaryDto s = new IssueSummaryDto();
+        s.setId(i.getId());
+        s.setTitle(i.getTitle());
+        s.setStatus(i.getStatus());
+        s.setCategory(i.getCategory());
+        s.setLocation(i.getLocation());
+        s.setCreatedAt(i.getCreatedAt());
+        s.setUpdatedAt(i.getUpdatedAt() != null ? i.getUpdatedAt().getTime() : 0L);
+        s.setUpVotes(i.getUpVotes());
+        s.setDownVotes(i.getDownVotes());
+        s.setCommentsCount(commentsCount);
+        s.setThumbnailUrl(MediaUrls.thumbnail(i));
+        return s;
+    }
+}
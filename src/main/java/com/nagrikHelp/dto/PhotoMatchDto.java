@@ -0,0 +1,15 @@
+package com.nagrikHelp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** An issue whose photo looks like the one on {@code issueId}; distance is in DHash bits (0 = same picture). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhotoMatchDto {
+    private String issueId;
+    private IssueSummaryDto match;
+    private int distance;
+}
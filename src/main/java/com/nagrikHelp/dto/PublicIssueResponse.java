@@ -17,6 +17,20 @@ public class PublicIssueResponse {
     private long upvoteCount;
     private boolean following = false;
 
+    public PublicIssueResponse copy() {
+        PublicIssueResponse r = new PublicIssueResponse();
+        r.setTitle(title);
+        r.setDescription(description);
+        r.setCategory(category);
+        r.setImageBase64(imageBase64);
+        r.setLocation(location);
+        r.setStatus(status);
+        r.setCreatedAt(createdAt);
+        r.setUpvoteCount(upvoteCount);
+        r.setFollowing(following);
+        return r;
+    }
+
     public static PublicIssueResponse from(Issue i, long upVotes) {
         return from(i, upVotes, null, null);
     }
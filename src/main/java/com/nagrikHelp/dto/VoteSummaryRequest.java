@@ -0,0 +1,12 @@
+package com.nagrikHelp.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class VoteSummaryRequest {
+    @NotNull
+    private List<String> issueIds; // at most VoteService.MAX_SUMMARY_BATCH
+}
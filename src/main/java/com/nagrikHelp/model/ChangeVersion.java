@@ -0,0 +1,21 @@
+package com.nagrikHelp.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A shared change counter; every instance $incs it on writes and reads it back by id, so a version
+ * handed out by one node is invalidated by writes on any other.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "change_versions")
+public class ChangeVersion {
+    public static final String ISSUES = "issues";
+
+    @Id
+    private String id;
+    private long version;
+}
@@ -2,7 +2,9 @@ package com.nagrikHelp.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -10,13 +12,15 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @AllArgsConstructor
 @Builder
 @Document(collection = "issue_comments")
+// Keyset pages of one thread, newest first (CommentService.page); also serves every issueId lookup
+@CompoundIndex(name = "issue_created_id", def = "{issueId:1, createdAt:-1, _id:-1}")
 public class Comment {
     @Id
     private String id;
-    @Indexed
     private String issueId;
     private String userId; // email or user id
     private String userName; // snapshot of name
+    @TextIndexed
     private String text;
     @Indexed
     private long createdAt;
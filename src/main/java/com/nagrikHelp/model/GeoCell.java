@@ -0,0 +1,29 @@
+package com.nagrikHelp.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+/**
+ * Issue counts for one geohash cell, maintained with $inc by IssueClusterService. The id is the
+ * geohash itself, so its length is the precision. Coordinate sums give the cluster centroid.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "issue_geo_cells")
+public class GeoCell {
+    @Id
+    private String id; // geohash
+    private int precision;
+    private long count;
+    private double latSum;
+    private double lonSum;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCategory;
+    private Map<String, Long> byStatusCategory; // "OPEN_POTHOLE" -> n
+    private long rev; // bumped by every change, so the reconciler can overwrite only cells it has seen
+}
@@ -0,0 +1,21 @@
+package com.nagrikHelp.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The current landmark time for Issue.hotScore. A single document; HotScoreService moves the
+ * landmark forward (and rescales scores) so the stored values stay small.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "issue_hot_epoch")
+public class HotScoreEpoch {
+    public static final String ID = "hot";
+
+    @Id
+    private String id;
+    private long landmark; // epoch millis
+}
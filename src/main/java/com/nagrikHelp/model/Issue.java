@@ -2,8 +2,13 @@ package com.nagrikHelp.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.util.Date;
 
@@ -12,20 +17,44 @@ import java.util.Date;
 @AllArgsConstructor
 @Builder
 @Document(collection = "issues")
+@CompoundIndexes({
+        // keyset pagination: (updatedAt, _id) per list filter
+        @CompoundIndex(name = "updated_id", def = "{updatedAt:-1,_id:-1}"),
+        @CompoundIndex(name = "status_updated_id", def = "{status:1,updatedAt:-1,_id:-1}"),
+        @CompoundIndex(name = "owner_updated_id", def = "{createdBy:1,updatedAt:-1,_id:-1}"),
+        // hot feed: (hotScore, _id), overall and per status
+        @CompoundIndex(name = "hot_id", def = "{hotScore:-1,_id:-1}"),
+        @CompoundIndex(name = "status_hot_id", def = "{status:1,hotScore:-1,_id:-1}"),
+        // map queries: $geoNear / $geoWithin plus the usual status/category filters
+        @CompoundIndex(name = "geo_status_category", def = "{geo:'2dsphere',status:1,category:1}"),
+        // near-duplicate lookup: LSH band keys (multikey) within a category
+        @CompoundIndex(name = "dup_bands_category", def = "{dupBands:1,category:1}")
+})
 public class Issue {
     @Id
     private String id;
 
+    @TextIndexed(weight = 3)
     private String title;
+    @TextIndexed
     private String description;
-    private String location;
+    private String location; // "lat,lon" as entered by the client
+    private GeoJsonPoint geo; // parsed from location on write (see GeoPoints); null when unparseable
     private String photoUrl;
 
     private IssueStatus status;
 
     // Phase 2 fields
     private IssueCategory category;
-    private String imageBase64;
+    private String imageBase64; // legacy inline photo; new uploads go to MediaStore (see IssueImageMigration)
+    @Indexed(sparse = true)
+    private String imageHash; // SHA-256 key of the photo in MediaStore
+    private java.util.Map<String, String> imageVariants; // width ("320", "640", ...) -> JPEG media hash
+    private boolean hasImage; // lets list projections link the media endpoint without loading imageBase64
+    private Long imageDHash; // perceptual hash of the photo (DHash), set by ImageVariantService
+    private Integer imageDHashVersion; // DHash.VERSION that computed imageDHash; older hashes are recomputed
+    @Indexed(sparse = true)
+    private java.util.List<Integer> imageDHashChunks; // DHash.chunks(imageDHash), for hamming lookup
 
     @Indexed
     private String createdBy; // creator email (username)
@@ -41,6 +70,28 @@ public class Issue {
 
     private String shareToken; // public share token (UUID)
 
+    // Denormalized vote tallies, maintained with $inc by VoteService (rebuilt by VoteCounterReconciler)
+    private long upVotes;
+    private long downVotes;
+
+    // Denormalized comment count, maintained with $inc by CommentService (rebuilt by CommentCounterReconciler)
+    private long commentsCount;
+
+    // Newest RECENT_COMMENTS comments, newest first, for feed previews; $push'ed with $sort/$slice by CommentService
+    public static final int RECENT_COMMENTS = 3;
+    private java.util.List<Comment> recentComments;
+
+    // Forward-decayed activity score relative to hotEpoch, maintained with $inc by HotScoreService
+    private Double hotScore;
+    private Long hotEpoch;
+
+    // Near-duplicate detection (IssueDuplicateService): MinHash of title + description and its LSH band keys
+    private int[] dupSignature;
+    private java.util.List<Long> dupBands;
+
+    @TextScore
+    private Float score; // relevance, only populated by $text queries (IssueSearchService); never stored
+
     @Builder.Default
     private java.util.List<String> followerPhones = new java.util.ArrayList<>(); // phone numbers to notify
     @Builder.Default
@@ -0,0 +1,24 @@
+package com.nagrikHelp.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Number of issues with one (status, category, assignee) combination, maintained with $inc by
+ * IssueStatsService and corrected by IssueStatsReconciler. Null category/assignee are their
+ * own buckets.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "issue_stats")
+public class IssueStatsCell {
+    @Id
+    private String id; // status|category|assignee
+    private IssueStatus status;
+    private IssueCategory category;
+    private String assignedTo;
+    private long count;
+}
@@ -0,0 +1,21 @@
+package com.nagrikHelp.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Lease on a cluster-wide maintenance job, so only one instance runs it at a time. The id is the
+ * job name; an expired lease can be taken over, so a crashed holder blocks the job only until
+ * {@code lockedUntil}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_locks")
+public class JobLock {
+    @Id
+    private String id; // job name
+    private String owner; // random token of the holder
+    private long lockedUntil; // epoch millis
+}
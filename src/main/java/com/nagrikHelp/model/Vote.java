@@ -12,7 +12,9 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @Builder
 @Document(collection = "issue_votes")
 @CompoundIndexes({
-        @CompoundIndex(name = "uniq_issue_user", def = "{issueId:1,userId:1}", unique = true)
+        @CompoundIndex(name = "uniq_issue_user", def = "{issueId:1,userId:1}", unique = true),
+        // UserVoteIndex loads all of one user's votes
+        @CompoundIndex(name = "user", def = "{userId:1}")
 })
 public class Vote {
     @Id
@@ -0,0 +1,33 @@
+package com.nagrikHelp.repository;
+
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Field projections for issue reads. List paths never pull the inline image or follower
+ * contact lists off disk; SUMMARY is the minimal card/map read model.
+ */
+public enum IssueProjection {
+    FULL,
+    LIST,
+    SUMMARY;
+
+    public Query applyTo(Query q) {
+        switch (this) {
+            case LIST -> q.fields()
+                    .exclude("imageBase64")
+                    .exclude("followerPhones")
+                    .exclude("followerEmails")
+                    .exclude("followerWebhookUrls")
+                    .exclude("dupSignature")
+                    .exclude("dupBands")
+                    .exclude("imageDHashChunks");
+            case SUMMARY -> q.fields()
+                    .include("title").include("status").include("category").include("location")
+                    .include("createdAt").include("updatedAt").include("hotScore")
+                    .include("upVotes").include("downVotes").include("commentsCount")
+                    .include("photoUrl").include("hasImage").include("imageHash").include("imageVariants");
+            default -> { }
+        }
+        return q;
+    }
+}
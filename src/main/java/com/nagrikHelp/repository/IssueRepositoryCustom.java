@@ -0,0 +1,43 @@
+package com.nagrikHelp.repository;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.util.PageCursor;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+public interface IssueRepositoryCustom {
+    /**
+     * Keyset page ordered by (sort key desc, _id desc). Returns up to {@code limit + 1} rows so the
+     * caller can tell whether another page exists.
+     */
+    List<Issue> findPage(Criteria filter, PageCursor after, int limit, IssueProjection projection, IssueSort sort);
+
+    default List<Issue> findPage(Criteria filter, PageCursor after, int limit, IssueProjection projection) {
+        return findPage(filter, after, limit, projection, IssueSort.RECENT);
+    }
+
+    default List<Issue> findPage(Criteria filter, PageCursor after, int limit) {
+        return findPage(filter, after, limit, IssueProjection.LIST);
+    }
+
+    /** An issue with its distance in meters from a {@link #findNear} center. */
+    record Near(Issue issue, double meters) {}
+
+    /**
+     * Keyset page ordered by (distance asc, _id asc) from {@code center} via $geoNear, which walks
+     * the 2dsphere index outward and stops after the page, so a wide radius never turns into a
+     * sort of every match. The cursor key is the distance. Returns up to {@code limit + 1} rows
+     * (more when issues at the same spot straddle the page end).
+     */
+    List<Near> findNear(GeoJsonPoint center, double maxMeters, Criteria filter, PageCursor after, int limit,
+                        IssueProjection projection);
+
+    /**
+     * Partial update of an existing issue. Used instead of save() so concurrent $inc counters
+     * (votes) are never overwritten by a stale full-document replace.
+     */
+    void updateFields(String id, Update update);
+}
@@ -0,0 +1,95 @@
+package com.nagrikHelp.repository;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.util.GeoPoints;
+import com.nagrikHelp.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class IssueRepositoryImpl implements IssueRepositoryCustom {
+
+    private static final String DISTANCE = "_distance";
+    private static final Comparator<Near> NEAREST = Comparator.comparingDouble(Near::meters)
+            .thenComparing(n -> n.issue().getId());
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Issue> findPage(Criteria filter, PageCursor after, int limit, IssueProjection projection, IssueSort sort) {
+        List<Criteria> and = new ArrayList<>();
+        if (filter != null) and.add(filter);
+        if (after != null) and.add(sort.after(after));
+        Query q = and.isEmpty() ? new Query() : new Query(new Criteria().andOperator(and.toArray(new Criteria[0])));
+        q.with(sort.sort());
+        q.limit(limit + 1);
+        projection.applyTo(q);
+        return mongoTemplate.find(q, Issue.class);
+    }
+
+    @Override
+    public List<Near> findNear(GeoJsonPoint center, double maxMeters, Criteria filter, PageCursor after, int limit,
+                               IssueProjection projection) {
+        double from = after == null ? 0 : after.scoreKey();
+        // $geoNear orders by distance alone; issues at the same spot tie and are put in _id order here
+        List<Near> rows = near(center, from, maxMeters, filter, after, limit + 1, projection);
+        rows.sort(NEAREST);
+        if (rows.size() <= limit) return rows;
+        // A tie group cut by the limit may be missing members that sort before the cut; fetch it whole
+        double edge = rows.get(limit - 1).meters();
+        if (rows.get(limit).meters() != edge) return rows;
+        List<Near> page = new ArrayList<>(rows.stream().filter(n -> n.meters() < edge).toList());
+        page.addAll(near(center, edge, edge, filter, after, 0, projection));
+        page.sort(NEAREST);
+        return page;
+    }
+
+    // limit 0 = every match in [minMeters, maxMeters]
+    private List<Near> near(GeoJsonPoint center, double minMeters, double maxMeters, Criteria filter, PageCursor after,
+                            int limit, IssueProjection projection) {
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        var entity = mongoTemplate.getConverter().getMappingContext().getPersistentEntity(Issue.class);
+        Document geoNear = new Document("near", new Document("type", "Point").append("coordinates", center.getCoordinates()))
+                .append("key", GeoPoints.FIELD)
+                .append("distanceField", DISTANCE)
+                .append("spherical", true)
+                .append("minDistance", minMeters)
+                .append("maxDistance", maxMeters);
+        if (filter != null) geoNear.append("query", mapper.getMappedObject(filter.getCriteriaObject(), entity));
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$geoNear", geoNear));
+        if (after != null) {
+            Criteria past = new Criteria().orOperator(
+                    Criteria.where(DISTANCE).gt(after.scoreKey()),
+                    Criteria.where(DISTANCE).is(after.scoreKey()).and("id").gt(after.id()));
+            pipeline.add(new Document("$match", mapper.getMappedObject(past.getCriteriaObject(), entity)));
+        }
+        if (limit > 0) pipeline.add(new Document("$limit", limit));
+        Document fields = projection.applyTo(new Query()).getFieldsObject();
+        if (!fields.isEmpty()) {
+            if (fields.containsValue(1)) fields.append(DISTANCE, 1); // inclusion projections must keep it
+            pipeline.add(new Document("$project", fields));
+        }
+        List<Near> rows = new ArrayList<>();
+        for (Document d : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Issue.class)).aggregate(pipeline)) {
+            double meters = ((Number) d.remove(DISTANCE)).doubleValue();
+            rows.add(new Near(mongoTemplate.getConverter().read(Issue.class, d), meters));
+        }
+        return rows;
+    }
+
+    @Override
+    public void updateFields(String id, Update update) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(id)), update, Issue.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.nagrikHelp.repository;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.util.PageCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Locale;
+
+/**
+ * Orderings for keyset-paged issue lists. Each is (key desc, _id desc) and has a matching
+ * compound index on Issue; cursors are only valid for the ordering that produced them.
+ */
+public enum IssueSort {
+    RECENT("updatedAt"),
+    HOT("hotScore");
+
+    private final String field;
+
+    IssueSort(String field) {
+        this.field = field;
+    }
+
+    public String field() {
+        return field;
+    }
+
+    public Sort sort() {
+        return Sort.by(Sort.Direction.DESC, field).and(Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    /** Rows strictly after the cursor in this ordering. */
+    public Criteria after(PageCursor c) {
+        Object key = this == HOT ? c.scoreKey() : c.timeKey();
+        return new Criteria().orOperator(
+                Criteria.where(field).lt(key),
+                Criteria.where(field).is(key).and("id").lt(c.id())
+        );
+    }
+
+    public PageCursor cursorFor(Issue last) {
+        return this == HOT
+                ? PageCursor.of(last.getHotScore() == null ? 0 : last.getHotScore(), last.getId())
+                : PageCursor.of(last.getUpdatedAt(), last.getId());
+    }
+
+    /** "recent" (default) or "hot"; anything else is a 400. */
+    public static IssueSort parse(String value) {
+        if (value == null || value.isBlank()) return RECENT;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort: " + value);
+        }
+    }
+}
@@ -23,6 +23,10 @@ public class AccountService {
     private final UserNotificationRepository userNotificationRepository;
     private final OtpService otpService;
     private final EmailVerificationService emailVerificationService;
+    private final IssueChangeTracker changeTracker;
+    private final IssueDetailCache detailCache;
+    private final IssueClusterService clusterService;
+    private final IssueStatsService statsService;
 
     /**
      * Deletes a user account and performs a soft cascade removal of their owned entities.
@@ -43,10 +47,14 @@ public class AccountService {
                 // Remove comments authored by this user on own issue (others remain)
                 // (If we add userId to comment later we can filter properly)
                 issueRepository.delete(issue);
+                detailCache.invalidate(issue.getId());
+                clusterService.remove(issue);
+                statsService.remove(issue);
             } catch (Exception ex) {
                 log.warn("Failed deleting issue {} for user {}: {}", issue.getId(), userEmail, ex.getMessage());
             }
         }
+        if (!issues.isEmpty()) changeTracker.bump();
         // Remove votes the user cast on other issues
         // No direct method; naive scan of all votes is expensive. For now skip or create index later.
         // Potential optimization: add repository method findByUserId.
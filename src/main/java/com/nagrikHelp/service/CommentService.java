@@ -1,20 +1,36 @@
 package com.nagrikHelp.service;
 
 import com.nagrikHelp.dto.CommentResponseDto;
+import com.nagrikHelp.dto.CursorPage;
 import com.nagrikHelp.model.Comment;
+import com.nagrikHelp.model.Issue;
 import com.nagrikHelp.repository.CommentRepository;
+import com.nagrikHelp.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
+    private final MongoTemplate mongoTemplate;
     private final IssueStreamService issueStreamService;
+    private final IssueChangeTracker changeTracker;
+    private final IssueDetailCache detailCache;
+    private final HotScoreService hotScoreService;
 
     public CommentResponseDto addComment(String issueId, String userId, String userName, String text) {
         long now = System.currentTimeMillis();
@@ -27,22 +43,85 @@ public class CommentService {
                 .updatedAt(now)
                 .build();
         commentRepository.save(c);
+        long count = recordOnIssue(c);
+        hotScoreService.onComment(issueId);
+        changeTracker.bump();
+        detailCache.invalidate(issueId);
         CommentResponseDto dto = CommentResponseDto.from(c);
-        long count = commentRepository.countByIssueId(issueId);
         issueStreamService.broadcastComment(issueId, count, dto);
         return dto;
     }
 
+    /** Offset page, newest first. Kept for existing clients; deep pages skip, prefer {@link #page}. */
     public List<CommentResponseDto> getComments(String issueId, int page, int size) {
-        return commentRepository.findByIssueIdOrderByCreatedAtDesc(issueId, PageRequest.of(page, size))
+        return commentRepository.findByIssueIdOrderByCreatedAtDesc(issueId, PageRequest.of(page, clamp(size)))
                 .stream().map(CommentResponseDto::from).toList();
     }
 
+    /**
+     * Keyset page over (createdAt desc, _id desc) on the {issueId, createdAt, _id} index: each page
+     * seeks straight to the cursor, so page 500 costs the same as page 1.
+     */
+    public CursorPage<CommentResponseDto> page(String issueId, String after, int size) {
+        int limit = clamp(size);
+        PageCursor cursor = PageCursor.decode(after);
+        Query q = new Query(Criteria.where("issueId").is(issueId));
+        if (cursor != null) {
+            long t = cursor.timeKey().getTime();
+            q.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(t),
+                    Criteria.where("createdAt").is(t).and("id").lt(cursor.id())));
+        }
+        q.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        q.limit(limit + 1);
+        List<Comment> rows = mongoTemplate.find(q, Comment.class);
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Comment last = rows.get(limit - 1);
+            next = PageCursor.of(new Date(last.getCreatedAt()), last.getId()).encode();
+        }
+        return new CursorPage<>(rows.stream().map(CommentResponseDto::from).toList(), next);
+    }
+
+    /** Denormalized Issue.commentsCount; 0 for unknown issues. */
     public long count(String issueId) {
-        return commentRepository.countByIssueId(issueId);
+        Query q = new Query(Criteria.where("id").is(issueId));
+        q.fields().include("commentsCount");
+        Issue i = mongoTemplate.findOne(q, Issue.class);
+        return i == null ? 0 : i.getCommentsCount();
     }
 
     public List<CommentResponseDto> recent(String issueId, int limit) {
-        return getComments(issueId, 0, limit);
+        return page(issueId, null, limit).getItems();
+    }
+
+    /** Newest comments on an issue straight from issue_comments, for backfilling Issue.recentComments. */
+    public List<Comment> newest(String issueId, int limit) {
+        Query q = new Query(Criteria.where("issueId").is(issueId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")))
+                .limit(limit);
+        return mongoTemplate.find(q, Comment.class);
+    }
+
+    // Bumps commentsCount and pushes the comment into the capped preview array in one write
+    private long recordOnIssue(Comment c) {
+        Query q = new Query(Criteria.where("id").is(c.getIssueId()));
+        q.fields().include("commentsCount").include("recentComments");
+        Update u = new Update().inc("commentsCount", 1);
+        u.push("recentComments").sort(Sort.by(Sort.Direction.DESC, "createdAt")).slice(Issue.RECENT_COMMENTS).each(c);
+        Issue before = mongoTemplate.findAndModify(q, u, FindAndModifyOptions.options().returnNew(false), Issue.class);
+        if (before == null) return commentRepository.countByIssueId(c.getIssueId());
+        // No array before the push means an issue from before previews existed: it now holds only this
+        // comment, so fill in the older ones. commentsCount cannot tell, it may not be reconciled yet.
+        if (before.getRecentComments() == null) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(c.getIssueId())),
+                    new Update().set("recentComments", newest(c.getIssueId(), Issue.RECENT_COMMENTS)), Issue.class);
+        }
+        return before.getCommentsCount() + 1;
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 }
@@ -0,0 +1,76 @@
+package com.nagrikHelp.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.nagrikHelp.util.ImageTypes;
+import com.nagrikHelp.util.MediaHashes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "app.media.store", havingValue = "gridfs", matchIfMissing = true)
+@RequiredArgsConstructor
+public class GridFsMediaStore implements MediaStore {
+
+    private final GridFsTemplate gridFsTemplate;
+
+    @Override
+    public String put(byte[] bytes, String contentType) {
+        String hash = MediaHashes.sha256(bytes);
+        // A concurrent identical upload may still store a second copy; reads pick either one.
+        if (find(hash) == null) {
+            gridFsTemplate.store(new ByteArrayInputStream(bytes), hash,
+                    contentType != null ? contentType : ImageTypes.sniffOrDefault(bytes));
+        }
+        return hash;
+    }
+
+    @Override
+    public Optional<MediaBlob> open(String hash) {
+        if (!MediaHashes.isValid(hash)) return Optional.empty();
+        GridFSFile file = find(hash);
+        if (file == null) return Optional.empty();
+        String type = file.getMetadata() != null ? file.getMetadata().getString("_contentType") : null;
+        return Optional.of(new GridFsBlob(hash, type, file.getLength(), file));
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return MediaHashes.isValid(hash) && find(hash) != null;
+    }
+
+    private GridFSFile find(String hash) {
+        return gridFsTemplate.findOne(new Query(Criteria.where("filename").is(hash)));
+    }
+
+    private final class GridFsBlob implements MediaBlob {
+        private final String hash;
+        private final String contentType;
+        private final long length;
+        private final GridFSFile file;
+
+        private GridFsBlob(String hash, String contentType, long length, GridFSFile file) {
+            this.hash = hash;
+            this.contentType = contentType;
+            this.length = length;
+            this.file = file;
+        }
+
+        @Override public String hash() { return hash; }
+        @Override public String contentType() { return contentType; }
+        @Override public long length() { return length; }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return gridFsTemplate.getResource(file).getInputStream();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.nagrikHelp.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.nagrikHelp.model.HotScoreEpoch;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.VoteValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Maintains Issue.hotScore, an exponentially time-decayed sum of activity (creation, votes,
+ * comments) with half-life {@code app.hot.half-life-hours}. Uses forward decay: an event at time
+ * t adds {@code weight * e^(lambda * (t - landmark))}, so scores never need touching as time
+ * passes and ordering by the stored value is ordering by the decayed value. Because new events
+ * get ever larger weights, {@link #rescale()} periodically moves the landmark to now and
+ * multiplies stored scores down; each issue records the landmark its score is relative to
+ * ({@code hotEpoch}) and increments are conditional on it, so an increment racing a rescale is
+ * retried against the issue's actual epoch instead of being applied at the wrong scale.
+ */
+@Service
+@Slf4j
+public class HotScoreService {
+
+    static final double CREATED_WEIGHT = 1.0;
+    static final double VOTE_WEIGHT = 1.0;
+    static final double COMMENT_WEIGHT = 0.5;
+    private static final int BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueChangeTracker changeTracker;
+    private final double lambda; // per millisecond
+    private final AtomicBoolean maintaining = new AtomicBoolean();
+    private volatile long landmark; // 0 until loaded
+
+    public HotScoreService(MongoTemplate mongoTemplate,
+                           IssueChangeTracker changeTracker,
+                           @Value("${app.hot.half-life-hours:24}") double halfLifeHours) {
+        if (halfLifeHours <= 0) throw new IllegalArgumentException("app.hot.half-life-hours must be positive");
+        this.mongoTemplate = mongoTemplate;
+        this.changeTracker = changeTracker;
+        this.lambda = Math.log(2) / (halfLifeHours * 3_600_000d);
+    }
+
+    /** Sets the starting score on an issue about to be inserted. */
+    public void initialize(Issue issue) {
+        long epoch = landmark();
+        issue.setHotEpoch(epoch);
+        issue.setHotScore(CREATED_WEIGHT * growth(issue.getCreatedAt(), epoch));
+    }
+
+    public void onVote(String issueId, VoteValue previous, VoteValue current) {
+        onVotes(issueId, sign(current) - sign(previous));
+    }
+
+    /** Net effect of several votes at once (ups minus downs), as flushed by VoteBuffer. */
+    public void onVotes(String issueId, long netDelta) {
+        if (netDelta != 0) add(issueId, netDelta * VOTE_WEIGHT);
+    }
+
+    public void onComment(String issueId) {
+        add(issueId, COMMENT_WEIGHT);
+    }
+
+    /**
+     * Moves the landmark to now and rescales every score to it. Scores grow by 2x per half-life
+     * between runs, so daily is plenty; doubles would only overflow after ~1000 half-lives.
+     */
+    @Scheduled(cron = "${app.hot.rescale-cron:0 30 3 * * *}")
+    public void rescale() {
+        if (!maintaining.compareAndSet(false, true)) return;
+        try {
+            long next = System.currentTimeMillis();
+            mongoTemplate.upsert(new Query(Criteria.where("id").is(HotScoreEpoch.ID)),
+                    new Update().set("landmark", next), HotScoreEpoch.class);
+            landmark = next;
+            long moved = migrateStale(next);
+            changeTracker.bump(); // cursors of hot pages carry the old scale
+            log.info("HotScoreService: rescaled {} issues to landmark {}", moved, next);
+        } catch (Exception e) {
+            log.warn("HotScoreService: rescale failed: {}", e.getMessage());
+        } finally {
+            maintaining.set(false);
+        }
+    }
+
+    // Finishes an interrupted rescale and scores issues written before hotScore existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Thread t = new Thread(() -> {
+            if (!maintaining.compareAndSet(false, true)) return;
+            try {
+                long epoch = landmark();
+                migrateStale(epoch);
+                backfill(epoch);
+            } catch (Exception e) {
+                log.warn("HotScoreService: startup maintenance failed: {}", e.getMessage());
+            } finally {
+                maintaining.set(false);
+            }
+        }, "hot-score-maintenance");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void add(String issueId, double weight) {
+        long now = System.currentTimeMillis();
+        try {
+            long epoch = landmark();
+            for (int attempt = 0; attempt < 3; attempt++) {
+                UpdateResult r = mongoTemplate.updateFirst(
+                        new Query(Criteria.where("id").is(issueId).and("hotEpoch").is(epoch)),
+                        new Update().inc("hotScore", weight * growth(now, epoch)),
+                        Issue.class);
+                if (r.getMatchedCount() > 0) return;
+                Query q = new Query(Criteria.where("id").is(issueId));
+                q.fields().include("hotEpoch");
+                Issue current = mongoTemplate.findOne(q, Issue.class);
+                if (current == null || current.getHotEpoch() == null) return; // gone, or left to the backfill
+                epoch = current.getHotEpoch();
+                if (epoch > landmark) landmark = epoch; // rescaled by another instance
+            }
+            log.warn("HotScoreService: gave up updating issue {} during a rescale", issueId);
+        } catch (Exception e) {
+            // Ranking drifts slightly; never fail the vote or comment over it
+            log.warn("HotScoreService: score update failed for issue {}: {}", issueId, e.getMessage());
+        }
+    }
+
+    private long migrateStale(long epoch) {
+        List<Long> stale = mongoTemplate.findDistinct(new Query(Criteria.where("hotEpoch").ne(null).lt(epoch)),
+                "hotEpoch", Issue.class, Long.class);
+        long moved = 0;
+        for (Long from : stale) {
+            moved += mongoTemplate.updateMulti(new Query(Criteria.where("hotEpoch").is(from)),
+                    new Update().multiply("hotScore", growth(from, epoch)).set("hotEpoch", epoch),
+                    Issue.class).getModifiedCount();
+        }
+        return moved;
+    }
+
+    // Vote times are not known for old issues, so their votes count as if cast at creation
+    private void backfill(long epoch) {
+        Query q = new Query(Criteria.where("hotEpoch").exists(false));
+        q.fields().include("createdAt").include("upVotes").include("downVotes");
+        q.cursorBatchSize(BATCH);
+        long updated = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Issue> issues = mongoTemplate.stream(q, Issue.class)) {
+            for (Issue i : (Iterable<Issue>) issues::iterator) {
+                double weight = CREATED_WEIGHT + VOTE_WEIGHT * (i.getUpVotes() - i.getDownVotes());
+                if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Issue.class);
+                bulk.updateOne(new Query(Criteria.where("id").is(i.getId()).and("hotEpoch").exists(false)),
+                        new Update().set("hotScore", weight * growth(i.getCreatedAt(), epoch)).set("hotEpoch", epoch));
+                if (++pending == BATCH) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) updated += bulk.execute().getModifiedCount();
+        }
+        if (updated > 0) {
+            changeTracker.bump();
+            log.info("HotScoreService: scored {} older issues", updated);
+        }
+    }
+
+    private long landmark() {
+        long l = landmark;
+        if (l != 0) return l;
+        synchronized (this) {
+            if (landmark == 0) {
+                HotScoreEpoch e = mongoTemplate.findAndModify(new Query(Criteria.where("id").is(HotScoreEpoch.ID)),
+                        new Update().setOnInsert("landmark", System.currentTimeMillis()),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true), HotScoreEpoch.class);
+                landmark = e.getLandmark();
+            }
+            return landmark;
+        }
+    }
+
+    private double growth(long at, long epoch) {
+        return Math.exp(lambda * (at - epoch));
+    }
+
+    private static int sign(VoteValue v) {
+        return v == null ? 0 : v == VoteValue.UP ? 1 : -1;
+    }
+}
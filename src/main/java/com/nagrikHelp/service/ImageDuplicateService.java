@@ -0,0 +1,107 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.dto.IssueSummaryDto;
+import com.nagrikHelp.dto.PhotoMatchDto;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.repository.IssueProjection;
+import com.nagrikHelp.util.DHash;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Finds issues carrying the same or a near-identical photo. Exact copies share the content hash
+ * ({@code imageHash}) and are known at upload time; re-encoded or resized copies are found via
+ * the perceptual hash, which ImageVariantService fills in shortly after the upload. The hamming
+ * lookup uses the indexed DHash chunks, so it is complete up to {@link DHash#INDEXED_DISTANCE}
+ * bits; larger distances only report matches that happen to share a chunk.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageDuplicateService {
+
+    public static final int MAX_DISTANCE = 10;
+    private static final int MAX_CANDIDATES = 200;
+    private static final int MAX_RESULTS = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueFeedEnricher feedEnricher;
+
+    /** Other issues whose photo is byte-for-byte the same upload. */
+    public List<IssueSummaryDto> sameImage(String imageHash, String excludeId) {
+        if (imageHash == null) return List.of();
+        Query q = new Query(Criteria.where("imageHash").is(imageHash).and("id").ne(excludeId));
+        IssueProjection.SUMMARY.applyTo(q);
+        q.limit(MAX_RESULTS);
+        return feedEnricher.summarize(mongoTemplate.find(q, Issue.class));
+    }
+
+    /** @return empty when the issue does not exist; an empty list when its photo is not hashed yet */
+    public Optional<List<PhotoMatchDto>> similarTo(String issueId, Integer maxDistance) {
+        int max = clamp(maxDistance);
+        Query q = new Query(Criteria.where("id").is(issueId));
+        q.fields().include("imageHash").include("imageDHash");
+        Issue issue = mongoTemplate.findOne(q, Issue.class);
+        if (issue == null) return Optional.empty();
+        return Optional.of(matches(issue, max));
+    }
+
+    /**
+     * Admin sweep over the {@code limit} most recently updated issues with a hashed photo; each
+     * pair is reported once.
+     */
+    public List<PhotoMatchDto> recentDuplicates(int limit, Integer maxDistance) {
+        int max = clamp(maxDistance);
+        Query q = new Query(Criteria.where("imageDHash").exists(true))
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt").and(Sort.by(Sort.Direction.DESC, "id")))
+                .limit(Math.max(1, Math.min(limit, MAX_CANDIDATES)));
+        q.fields().include("imageHash").include("imageDHash");
+        Set<String> seen = new HashSet<>();
+        List<PhotoMatchDto> out = new ArrayList<>();
+        for (Issue i : mongoTemplate.find(q, Issue.class)) {
+            for (PhotoMatchDto m : matches(i, max)) {
+                String a = i.getId(), b = m.getMatch().getId();
+                if (seen.add(a.compareTo(b) < 0 ? a + "|" + b : b + "|" + a)) out.add(m);
+            }
+        }
+        return out;
+    }
+
+    private List<PhotoMatchDto> matches(Issue issue, int max) {
+        if (issue.getImageDHash() == null && issue.getImageHash() == null) return List.of();
+        List<Criteria> any = new ArrayList<>();
+        if (issue.getImageHash() != null) any.add(Criteria.where("imageHash").is(issue.getImageHash()));
+        if (issue.getImageDHash() != null) any.add(Criteria.where("imageDHashChunks").in(DHash.chunks(issue.getImageDHash())));
+        Query q = new Query(new Criteria().orOperator(any.toArray(new Criteria[0])).and("id").ne(issue.getId()));
+        IssueProjection.SUMMARY.applyTo(q);
+        q.fields().include("imageDHash");
+        q.limit(MAX_CANDIDATES);
+
+        Map<String, Integer> distance = new HashMap<>();
+        List<Issue> hits = new ArrayList<>();
+        for (Issue other : mongoTemplate.find(q, Issue.class)) {
+            int d;
+            if (issue.getImageHash() != null && issue.getImageHash().equals(other.getImageHash())) d = 0;
+            else if (issue.getImageDHash() != null && other.getImageDHash() != null) d = DHash.distance(issue.getImageDHash(), other.getImageDHash());
+            else continue;
+            if (d > max) continue;
+            distance.put(other.getId(), d);
+            hits.add(other);
+        }
+        hits.sort(Comparator.comparingInt((Issue o) -> distance.get(o.getId())).thenComparing(Issue::getId));
+        if (hits.size() > MAX_RESULTS) hits = hits.subList(0, MAX_RESULTS);
+        List<IssueSummaryDto> summaries = feedEnricher.summarize(hits);
+        List<PhotoMatchDto> out = new ArrayList<>(summaries.size());
+        for (IssueSummaryDto s : summaries) out.add(new PhotoMatchDto(issue.getId(), s, distance.get(s.getId())));
+        return out;
+    }
+
+    private static int clamp(Integer maxDistance) {
+        return maxDistance == null ? DHash.INDEXED_DISTANCE : Math.max(0, Math.min(maxDistance, MAX_DISTANCE));
+    }
+}
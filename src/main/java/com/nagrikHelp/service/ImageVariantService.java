@@ -0,0 +1,132 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.util.DHash;
+import com.nagrikHelp.util.ImageResizer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates resized JPEG variants and the perceptual hash ({@link DHash}) of issue photos off
+ * the request thread, from a single decode. Work runs on a small fixed pool with a bounded
+ * queue; when the queue is full the job is dropped (clients fall back to the original) rather
+ * than blocking uploads.
+ */
+@Service
+@Slf4j
+public class ImageVariantService {
+
+    public static final int THUMBNAIL_WIDTH = 320;
+    public static final int[] WIDTHS = {THUMBNAIL_WIDTH, 640, 1280};
+    // Both the variant job and the hash-only backfill decode at this width, so a photo hashes the same either way
+    private static final int DECODE_WIDTH = WIDTHS[WIDTHS.length - 1];
+
+    private final MediaStore mediaStore;
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolExecutor executor;
+    private final IssueChangeTracker changeTracker;
+    private final IssueDetailCache detailCache;
+
+    public ImageVariantService(MediaStore mediaStore,
+                               MongoTemplate mongoTemplate,
+                               IssueChangeTracker changeTracker,
+                               IssueDetailCache detailCache,
+                               @Value("${app.media.variants.threads:0}") int threads,
+                               @Value("${app.media.variants.queue:256}") int queueSize) {
+        this.mediaStore = mediaStore;
+        this.mongoTemplate = mongoTemplate;
+        this.changeTracker = changeTracker;
+        this.detailCache = detailCache;
+        int n = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "image-variants-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, ex) -> log.warn("ImageVariantService: queue full, skipping variant job"));
+    }
+
+    /** Queue variant generation for a freshly stored photo; returns immediately. */
+    public void submit(String issueId, String imageHash) {
+        if (issueId == null || imageHash == null) return;
+        executor.execute(() -> generate(issueId, imageHash));
+    }
+
+    /** Synchronous variant generation plus perceptual hash (used by the backfill thread). */
+    public void generate(String issueId, String imageHash) {
+        try {
+            BufferedImage decoded = decode(issueId, imageHash, DECODE_WIDTH);
+            if (decoded == null) return;
+            Map<String, String> variants = new LinkedHashMap<>();
+            ImageResizer.encodeVariants(decoded, WIDTHS)
+                    .forEach((w, bytes) -> variants.put(String.valueOf(w), mediaStore.put(bytes, "image/jpeg")));
+            record(issueId, imageHash, fingerprintUpdate(decoded).set("imageVariants", variants));
+            log.debug("ImageVariantService: issue {} variants {}", issueId, variants.keySet());
+        } catch (Exception e) {
+            log.warn("ImageVariantService: variants failed for issue {}: {}", issueId, e.getMessage());
+        }
+    }
+
+    /** Perceptual hash only, for photos whose variants already exist. */
+    public void fingerprint(String issueId, String imageHash) {
+        try {
+            BufferedImage decoded = decode(issueId, imageHash, DECODE_WIDTH);
+            if (decoded != null) record(issueId, imageHash, fingerprintUpdate(decoded));
+        } catch (Exception e) {
+            log.warn("ImageVariantService: fingerprint failed for issue {}: {}", issueId, e.getMessage());
+        }
+    }
+
+    private BufferedImage decode(String issueId, String imageHash, int width) throws IOException {
+        MediaBlob blob = mediaStore.open(imageHash).orElse(null);
+        if (blob == null) {
+            log.warn("ImageVariantService: media {} for issue {} not found", imageHash, issueId);
+            return null;
+        }
+        try (InputStream in = blob.openStream()) {
+            return ImageResizer.decodeForWidth(in, width);
+        }
+    }
+
+    private static Update fingerprintUpdate(BufferedImage decoded) {
+        long dHash = DHash.of(decoded);
+        return new Update().set("imageDHash", dHash).set("imageDHashChunks", DHash.chunks(dHash))
+                .set("imageDHashVersion", DHash.VERSION);
+    }
+
+    private void record(String issueId, String imageHash, Update update) {
+        // Only record if the issue still points at the same photo
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(issueId).and("imageHash").is(imageHash)),
+                update,
+                Issue.class);
+        changeTracker.bump(); // list thumbnails changed
+        detailCache.invalidate(issueId);
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
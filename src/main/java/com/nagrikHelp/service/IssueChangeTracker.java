@@ -0,0 +1,42 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.model.ChangeVersion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Change version for everything that shows up in issue lists (issues, votes, comments). Every
+ * write bumps it, so list ETags can be checked with one _id lookup instead of a query. Kept in
+ * Mongo so a write on any instance invalidates the tags every other instance hands out.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IssueChangeTracker {
+
+    private static final Query ISSUES = new Query(Criteria.where("id").is(ChangeVersion.ISSUES));
+
+    private final MongoTemplate mongoTemplate;
+
+    public long current() {
+        ChangeVersion v = mongoTemplate.findById(ChangeVersion.ISSUES, ChangeVersion.class);
+        if (v != null) return v.getVersion();
+        // Seeded with the clock so tags handed out before the document was lost never validate again
+        mongoTemplate.upsert(ISSUES, new Update().setOnInsert("version", System.currentTimeMillis()), ChangeVersion.class);
+        v = mongoTemplate.findById(ChangeVersion.ISSUES, ChangeVersion.class);
+        return v == null ? 0 : v.getVersion();
+    }
+
+    public void bump() {
+        try {
+            mongoTemplate.upsert(ISSUES, new Update().inc("version", 1), ChangeVersion.class);
+        } catch (Exception e) {
+            log.warn("Failed to bump issue change version: {}", e.getMessage());
+        }
+    }
+}
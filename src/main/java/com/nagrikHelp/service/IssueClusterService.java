@@ -0,0 +1,329 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.dto.IssueClusterDto;
+import com.nagrikHelp.model.GeoCell;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.IssueCategory;
+import com.nagrikHelp.model.IssueStatus;
+import com.nagrikHelp.util.GeoPoints;
+import com.nagrikHelp.util.Geohash;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Map clusters from precomputed per-geohash-cell counts. Every issue is counted once per
+ * precision in {@link #PRECISIONS}; creates, status/category/location changes and deletes adjust
+ * the affected cells with $inc, so a viewport query reads at most {@link #MAX_CELLS} small
+ * documents regardless of how many issues exist. A scheduled reconcile repairs any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IssueClusterService {
+
+    public static final int[] PRECISIONS = {1, 2, 3, 4, 5, 6, 7};
+    public static final int MAX_CELLS = 512;
+    private static final int REBUILD_BATCH = 200;
+    private static final String REBUILD_JOB = "geo-cells-rebuild";
+    private static final long REBUILD_LEASE_MS = 60 * 60 * 1000L;
+
+    private final MongoTemplate mongoTemplate;
+    private final JobLockService jobLockService;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "issue-cluster-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** What determines which cells and breakdown buckets an issue is counted in. */
+    public record Placement(double lat, double lon, IssueStatus status, IssueCategory category) {
+        /** @return null when the issue has no usable location */
+        public static Placement of(Issue i) {
+            GeoJsonPoint p = i.getGeo() != null ? i.getGeo() : GeoPoints.parse(i.getLocation());
+            return p == null ? null : new Placement(p.getY(), p.getX(), i.getStatus(), i.getCategory());
+        }
+    }
+
+    public void add(Issue issue) {
+        move(null, Placement.of(issue));
+    }
+
+    public void remove(Issue issue) {
+        move(Placement.of(issue), null);
+    }
+
+    /** Moves one issue's contribution from {@code before} to {@code after}; either may be null. */
+    public void move(Placement before, Placement after) {
+        if (Objects.equals(before, after)) return;
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GeoCell.class);
+            if (before != null) addTo(bulk, before, -1);
+            if (after != null) addTo(bulk, after, 1);
+            bulk.execute();
+        } catch (Exception e) {
+            // Counts drift until the next reconcile; never fail the issue write over it
+            log.warn("IssueClusterService: cell update failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Clusters for a viewport. Without an explicit precision the finest one whose cells still fit
+     * in {@link #MAX_CELLS} is used. Status/category filters read the matching breakdown bucket.
+     */
+    public List<IssueClusterDto> clusters(double minLat, double minLon, double maxLat, double maxLon,
+                                          Integer precision, IssueStatus status, IssueCategory category) {
+        if (!GeoPoints.validLat(minLat) || !GeoPoints.validLat(maxLat) || !GeoPoints.validLon(minLon)
+                || !GeoPoints.validLon(maxLon) || minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Invalid bounding box");
+        }
+        int p = precision != null ? precision : pickPrecision(minLat, minLon, maxLat, maxLon);
+        if (p < PRECISIONS[0] || p > PRECISIONS[PRECISIONS.length - 1]) {
+            throw new IllegalArgumentException("precision must be between " + PRECISIONS[0] + " and " + PRECISIONS[PRECISIONS.length - 1]);
+        }
+        List<String> cells = Geohash.cover(minLat, minLon, maxLat, maxLon, p, MAX_CELLS);
+        if (cells == null) throw new IllegalArgumentException("Viewport too large for precision " + p);
+
+        String bucket = bucket(status, category);
+        Query q = new Query(Criteria.where("id").in(cells).and(bucket == null ? "count" : bucket).gt(0));
+        return mongoTemplate.find(q, GeoCell.class).stream().map(c -> {
+            long n = bucket == null ? c.getCount() : valueAt(c, status, category);
+            double lat = c.getCount() > 0 ? c.getLatSum() / c.getCount() : 0;
+            double lon = c.getCount() > 0 ? c.getLonSum() / c.getCount() : 0;
+            return new IssueClusterDto(c.getId(), lat, lon, n, c.getByStatus(), c.getByCategory());
+        }).toList();
+    }
+
+    /** Periodic repair; also fills the cells the first time. */
+    @Scheduled(initialDelayString = "${app.clusters.reconcile-initial-delay-ms:45000}",
+            fixedDelayString = "${app.clusters.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        String token = acquire();
+        if (token != null) run(token);
+    }
+
+    /**
+     * Starts a reconcile in the background (admin repair).
+     * @return false when one is already running here or on another instance
+     */
+    public boolean startRebuild() {
+        String token = acquire();
+        if (token == null) return false;
+        try {
+            rebuildExecutor.execute(() -> run(token));
+        } catch (RejectedExecutionException e) { // shutting down
+            finish(token);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Recomputes every cell from the issues collection and overwrites the ones that drifted. Cells
+     * are read before the issues, and each overwrite only applies if the cell's {@code rev} is
+     * still what was read; a cell a live write touched meanwhile is left for the next run rather
+     * than overwritten with counts that predate that write.
+     * @return the number of cells corrected
+     */
+    public long reconcileAll() {
+        List<GeoCell> cells = mongoTemplate.findAll(GeoCell.class);
+
+        Map<String, GeoCell> expected = new HashMap<>();
+        Query q = new Query();
+        q.fields().include("geo").include("location").include("status").include("category");
+        q.cursorBatchSize(1000);
+        try (Stream<Issue> issues = mongoTemplate.stream(q, Issue.class)) {
+            issues.forEach(i -> {
+                Placement pl = Placement.of(i);
+                if (pl != null) count(expected, pl);
+            });
+        }
+
+        long fixed = 0;
+        int pending = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GeoCell.class);
+        for (GeoCell c : cells) {
+            GeoCell want = expected.remove(c.getId());
+            if (want != null && same(c, want)) continue;
+            Query cas = new Query(new Criteria().andOperator(
+                    Criteria.where("id").is(c.getId()),
+                    c.getRev() == 0 ? Criteria.where("rev").in(0L, null) : Criteria.where("rev").is(c.getRev())));
+            if (want == null) bulk.remove(cas);
+            else bulk.updateOne(cas, overwrite(want).inc("rev", 1));
+            fixed++;
+            if (++pending == REBUILD_BATCH) {
+                bulk.execute();
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GeoCell.class);
+                pending = 0;
+            }
+        }
+        for (GeoCell want : expected.values()) {
+            // A live write that created the cell meanwhile wins; the next run adds what it lacks
+            Update u = new Update()
+                    .setOnInsert("precision", want.getPrecision())
+                    .setOnInsert("count", want.getCount())
+                    .setOnInsert("latSum", want.getLatSum())
+                    .setOnInsert("lonSum", want.getLonSum())
+                    .setOnInsert("byStatus", want.getByStatus())
+                    .setOnInsert("byCategory", want.getByCategory())
+                    .setOnInsert("byStatusCategory", want.getByStatusCategory())
+                    .setOnInsert("rev", 1L);
+            bulk.upsert(new Query(Criteria.where("id").is(want.getId())), u);
+            fixed++;
+            if (++pending == REBUILD_BATCH) {
+                bulk.execute();
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GeoCell.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) bulk.execute();
+        return fixed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdown();
+    }
+
+    // Local flag first, so a second request here does not even touch the lease
+    private String acquire() {
+        if (!rebuilding.compareAndSet(false, true)) return null;
+        try {
+            String token = jobLockService.tryAcquire(REBUILD_JOB, REBUILD_LEASE_MS).orElse(null);
+            if (token == null) {
+                log.info("IssueClusterService: geo cell reconcile already running elsewhere");
+                rebuilding.set(false);
+            }
+            return token;
+        } catch (RuntimeException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+    }
+
+    private void run(String token) {
+        try {
+            long fixed = reconcileAll();
+            if (fixed > 0) log.info("IssueClusterService: corrected {} geo cells", fixed);
+            else log.debug("IssueClusterService: geo cells consistent");
+        } catch (Exception e) {
+            log.warn("IssueClusterService: geo cell reconcile failed: {}", e.getMessage());
+        } finally {
+            finish(token);
+        }
+    }
+
+    private void finish(String token) {
+        try {
+            jobLockService.release(REBUILD_JOB, token);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // The in-memory mirror of addTo(bulk, pl, 1)
+    private static void count(Map<String, GeoCell> cells, Placement pl) {
+        String status = pl.status() != null ? pl.status().name() : null;
+        String category = pl.category() != null ? pl.category().name() : null;
+        for (int p : PRECISIONS) {
+            GeoCell c = cells.computeIfAbsent(Geohash.encode(pl.lat(), pl.lon(), p), id -> GeoCell.builder()
+                    .id(id).precision(p).byStatus(new HashMap<>()).byCategory(new HashMap<>())
+                    .byStatusCategory(new HashMap<>()).build());
+            c.setCount(c.getCount() + 1);
+            c.setLatSum(c.getLatSum() + pl.lat());
+            c.setLonSum(c.getLonSum() + pl.lon());
+            if (status != null) c.getByStatus().merge(status, 1L, Long::sum);
+            if (category != null) c.getByCategory().merge(category, 1L, Long::sum);
+            if (status != null && category != null) c.getByStatusCategory().merge(status + "_" + category, 1L, Long::sum);
+        }
+    }
+
+    private static boolean same(GeoCell have, GeoCell want) {
+        // The sums are rounded differently by $inc order; a centroid error this small is invisible
+        double eps = 1e-6 * Math.max(1, want.getCount());
+        return have.getCount() == want.getCount()
+                && Math.abs(have.getLatSum() - want.getLatSum()) <= eps
+                && Math.abs(have.getLonSum() - want.getLonSum()) <= eps
+                && nonZero(have.getByStatus()).equals(want.getByStatus())
+                && nonZero(have.getByCategory()).equals(want.getByCategory())
+                && nonZero(have.getByStatusCategory()).equals(want.getByStatusCategory());
+    }
+
+    // Buckets decremented to 0 by moves and deletes stay in the document
+    private static Map<String, Long> nonZero(Map<String, Long> m) {
+        if (m == null) return Map.of();
+        Map<String, Long> out = new HashMap<>();
+        m.forEach((k, v) -> { if (v != null && v != 0) out.put(k, v); });
+        return out;
+    }
+
+    private static Update overwrite(GeoCell want) {
+        return new Update()
+                .set("precision", want.getPrecision())
+                .set("count", want.getCount())
+                .set("latSum", want.getLatSum())
+                .set("lonSum", want.getLonSum())
+                .set("byStatus", want.getByStatus())
+                .set("byCategory", want.getByCategory())
+                .set("byStatusCategory", want.getByStatusCategory());
+    }
+
+    private static int pickPrecision(double minLat, double minLon, double maxLat, double maxLon) {
+        for (int i = PRECISIONS.length - 1; i > 0; i--) {
+            if (Geohash.cellCount(minLat, minLon, maxLat, maxLon, PRECISIONS[i]) <= MAX_CELLS) return PRECISIONS[i];
+        }
+        return PRECISIONS[0];
+    }
+
+    private static void addTo(BulkOperations bulk, Placement pl, int delta) {
+        String status = pl.status() != null ? pl.status().name() : null;
+        String category = pl.category() != null ? pl.category().name() : null;
+        for (int p : PRECISIONS) {
+            Update u = new Update()
+                    .setOnInsert("precision", p)
+                    .inc("rev", 1) // every change moves it, even a move that nets out to the same count
+                    .inc("count", delta)
+                    .inc("latSum", pl.lat() * delta)
+                    .inc("lonSum", pl.lon() * delta);
+            if (status != null) u.inc("byStatus." + status, delta);
+            if (category != null) u.inc("byCategory." + category, delta);
+            if (status != null && category != null) u.inc("byStatusCategory." + status + "_" + category, delta);
+            bulk.upsert(new Query(Criteria.where("id").is(Geohash.encode(pl.lat(), pl.lon(), p))), u);
+        }
+    }
+
+    private static String bucket(IssueStatus status, IssueCategory category) {
+        if (status != null && category != null) return "byStatusCategory." + status.name() + "_" + category.name();
+        if (status != null) return "byStatus." + status.name();
+        if (category != null) return "byCategory." + category.name();
+        return null;
+    }
+
+    private static long valueAt(GeoCell c, IssueStatus status, IssueCategory category) {
+        Map<String, Long> m;
+        String key;
+        if (status != null && category != null) { m = c.getByStatusCategory(); key = status.name() + "_" + category.name(); }
+        else if (status != null) { m = c.getByStatus(); key = status.name(); }
+        else { m = c.getByCategory(); key = category.name(); }
+        return m == null ? 0 : m.getOrDefault(key, 0L);
+    }
+}
@@ -0,0 +1,137 @@
+package com.nagrikHelp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nagrikHelp.dto.CommentResponseDto;
+import com.nagrikHelp.dto.IssueResponseDto;
+import com.nagrikHelp.dto.PublicIssueResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Local cache of enriched issue views (detail by id, share page by token). Caffeine gives
+ * W-TinyLFU eviction bounded by an estimated byte weight plus a TTL, and get-with-loader
+ * collapses concurrent misses for one key into a single load.
+ *
+ * Values are caller-independent: the detail view is stored without userVote and the share view
+ * keeps the follower sets so "following" can be derived per request. Each entry remembers the
+ * validator (see {@link IssueEtagService}) it was built from; a lookup with a different current
+ * validator is treated as a miss, so a served body never lags the ETag sent with it, even when
+ * the write happened on another node.
+ */
+@Component
+public class IssueDetailCache {
+
+    public record Detail(String validator, IssueResponseDto view) {}
+
+    /** Share page plus the follower lists needed to compute "following" for any caller. */
+    public record Shared(String validator, PublicIssueResponse view, Set<String> followerEmails, Set<String> followerPhones) {}
+
+    private final Cache<String, Detail> details;
+    private final Cache<String, Shared> shares;
+    private final Cache<String, String> tokens; // share token -> issue id; tokens never change
+
+    public IssueDetailCache(@Value("${app.cache.issues.max-bytes:67108864}") long maxBytes,
+                            @Value("${app.cache.issues.ttl-seconds:60}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.details = Caffeine.newBuilder()
+                .maximumWeight(maxBytes / 2)
+                .weigher((String id, Detail d) -> weigh(d.view()))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.shares = Caffeine.newBuilder()
+                .maximumWeight(maxBytes / 2)
+                .weigher((String id, Shared s) -> weigh(s))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Copy of the cached detail view. {@code loader} runs once per miss even under concurrent
+     * callers and returns null for unknown ids (not cached). A null validator accepts any entry.
+     */
+    public Optional<IssueResponseDto> detail(String id, String validator, Function<String, Detail> loader) {
+        return Optional.ofNullable(lookup(details, id, validator, Detail::validator, loader))
+                .map(d -> d.view().copy());
+    }
+
+    public Optional<Shared> shared(String token, String validator, Function<String, String> idLoader, Function<String, Shared> loader) {
+        String id = tokens.get(token, idLoader);
+        if (id == null) return Optional.empty();
+        return Optional.ofNullable(lookup(shares, id, validator, Shared::validator, loader));
+    }
+
+    public void invalidate(String issueId) {
+        if (issueId == null) return;
+        details.invalidate(issueId);
+        shares.invalidate(issueId);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("details", describe(details.stats(), details.estimatedSize()));
+        out.put("shares", describe(shares.stats(), shares.estimatedSize()));
+        out.put("tokens", describe(tokens.stats(), tokens.estimatedSize()));
+        return out;
+    }
+
+    private static <V> V lookup(Cache<String, V> cache, String key, String validator,
+                                Function<V, String> validatorOf, Function<String, V> loader) {
+        V v = cache.get(key, loader);
+        if (v != null && validator != null && !validator.equals(validatorOf.apply(v))) {
+            cache.asMap().remove(key, v);
+            v = cache.get(key, loader);
+        }
+        return v;
+    }
+
+    private static Map<String, Object> describe(CacheStats s, long size) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", size);
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("loads", s.loadCount());
+        m.put("averageLoadMillis", s.averageLoadPenalty() / 1_000_000.0);
+        m.put("evictions", s.evictionCount());
+        return m;
+    }
+
+    // Rough retained size in bytes: 2 bytes per char plus fixed per-object overhead
+    private static int weigh(IssueResponseDto d) {
+        long w = 256 + chars(d.getTitle(), d.getDescription(), d.getLocation(), d.getImageBase64(),
+                d.getPhotoUrl(), d.getImageUrl(), d.getThumbnailUrl(), d.getShareToken());
+        if (d.getRecentComments() != null) {
+            for (CommentResponseDto c : d.getRecentComments()) w += 96 + chars(c.getId(), c.getUserName(), c.getText());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, w);
+    }
+
+    private static int weigh(Shared s) {
+        PublicIssueResponse p = s.view();
+        long w = 256 + chars(p.getTitle(), p.getDescription(), p.getLocation(), p.getImageBase64());
+        for (String e : s.followerEmails()) w += 48 + chars(e);
+        for (String e : s.followerPhones()) w += 48 + chars(e);
+        return (int) Math.min(Integer.MAX_VALUE, w);
+    }
+
+    private static long chars(String... values) {
+        long n = 0;
+        for (String s : values) if (s != null) n += 2L * s.length();
+        return n;
+    }
+}
@@ -0,0 +1,92 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.dto.IssueSummaryDto;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.IssueCategory;
+import com.nagrikHelp.model.IssueStatus;
+import com.nagrikHelp.repository.IssueProjection;
+import com.nagrikHelp.util.GeoPoints;
+import com.nagrikHelp.util.MinHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Near-duplicate lookup for new issues: same category, within {@code app.duplicates.radius-m}
+ * of the reported location, and an estimated title+description similarity of at least
+ * {@code app.duplicates.min-similarity}. Candidates come from the {dupBands, category} index
+ * (any shared LSH band), so the cost depends on how many issues look alike, not on collection
+ * size; the signature comparison then drops band collisions that are not actually similar.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IssueDuplicateService {
+
+    public static final int MAX_RESULTS = 5;
+    // Band collisions examined per lookup; popular phrasings ("pothole") should not scan thousands
+    private static final int MAX_CANDIDATES = 200;
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueFeedEnricher feedEnricher;
+
+    @Value("${app.duplicates.radius-m:150}")
+    private double radiusMetres;
+
+    @Value("${app.duplicates.min-similarity:0.5}")
+    private double minSimilarity;
+
+    /** Sets the signature fields on an issue about to be written. */
+    public void sign(Issue issue) {
+        int[] sig = MinHash.signature(text(issue.getTitle(), issue.getDescription()));
+        issue.setDupSignature(sig);
+        issue.setDupBands(sig == null ? null : Arrays.stream(MinHash.bands(sig)).boxed().toList());
+    }
+
+    /** Open issues that look like the given draft, most similar first. Never includes {@code excludeId}. */
+    public List<IssueSummaryDto> candidates(String title, String description, IssueCategory category,
+                                            String location, String excludeId) {
+        GeoJsonPoint at = GeoPoints.parse(location);
+        int[] sig = MinHash.signature(text(title, description));
+        if (at == null || category == null || sig == null) return List.of();
+        try {
+            List<Long> bands = Arrays.stream(MinHash.bands(sig)).boxed().toList();
+            Query q = new Query(Criteria.where("dupBands").in(bands).and("category").is(category)
+                    .and("status").ne(IssueStatus.RESOLVED))
+                    .addCriteria(GeoPoints.withinRadius(at.getY(), at.getX(), radiusMetres / 1000.0));
+            if (excludeId != null) q.addCriteria(Criteria.where("id").ne(excludeId));
+            IssueProjection.SUMMARY.applyTo(q);
+            q.fields().include("dupSignature");
+            q.limit(MAX_CANDIDATES);
+
+            Map<String, Double> similarity = new HashMap<>();
+            List<Issue> matches = new ArrayList<>();
+            for (Issue i : mongoTemplate.find(q, Issue.class)) {
+                double s = MinHash.similarity(sig, i.getDupSignature());
+                if (s < minSimilarity) continue;
+                similarity.put(i.getId(), s);
+                matches.add(i);
+            }
+            List<Issue> best = matches.stream()
+                    .sorted(Comparator.comparingDouble((Issue i) -> similarity.get(i.getId())).reversed())
+                    .limit(MAX_RESULTS)
+                    .toList();
+            return feedEnricher.summarize(best);
+        } catch (Exception e) {
+            // Advisory only; a failed lookup must not block filing the issue
+            log.warn("IssueDuplicateService: lookup failed: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static String text(String title, String description) {
+        return (title == null ? "" : title) + " " + (description == null ? "" : description);
+    }
+}
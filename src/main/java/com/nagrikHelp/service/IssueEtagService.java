@@ -0,0 +1,76 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.model.Issue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Weak validators for issue reads, computed from a few indexed fields so a matching
+ * If-None-Match can be answered with 304 before any enrichment work. Votes and comments do not
+ * touch updatedAt, so the counters are folded in rather than relying on Last-Modified.
+ */
+@Service
+@RequiredArgsConstructor
+public class IssueEtagService {
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueChangeTracker changeTracker;
+
+    /** Detail view: updatedAt + vote counters + comment count. Empty when the issue does not exist. */
+    public Optional<String> detail(String id) {
+        Issue i = mongoTemplate.findOne(validatorQuery(Criteria.where("id").is(id)), Issue.class);
+        if (i == null) return Optional.empty();
+        return Optional.of(detailTag(i));
+    }
+
+    /** Share page validator, before the per-caller part (see {@link #forCaller}). */
+    public Optional<String> shared(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        Issue i = mongoTemplate.findOne(validatorQuery(Criteria.where("shareToken").is(token.trim())), Issue.class);
+        return Optional.ofNullable(i).map(IssueEtagService::sharedTag);
+    }
+
+    /** List pages: the collection change version plus whatever selects the page (filter, cursor, limit, caller). */
+    public String list(Object... params) {
+        return weak("l", changeTracker.current(), Arrays.hashCode(params));
+    }
+
+    public static String detailTag(Issue i) {
+        return weak("d", time(i), i.getUpVotes(), i.getDownVotes(), i.getCommentsCount());
+    }
+
+    public static String sharedTag(Issue i) {
+        return weak("s", time(i), i.getUpVotes());
+    }
+
+    /** The share page's "following" flag depends on the email/phone query parameters. */
+    public static String forCaller(String tag, String email, String phone) {
+        return tag.substring(0, tag.length() - 1) + "-" + Integer.toHexString(Objects.hash(email, phone)) + "\"";
+    }
+
+    private static Query validatorQuery(Criteria c) {
+        Query q = new Query(c);
+        q.fields().include("updatedAt").include("createdAt").include("upVotes").include("downVotes")
+                .include("commentsCount");
+        return q;
+    }
+
+    private static long time(Issue i) {
+        return i.getUpdatedAt() == null ? i.getCreatedAt() : i.getUpdatedAt().getTime();
+    }
+
+    private static String weak(String kind, Object... parts) {
+        StringBuilder sb = new StringBuilder("W/\"").append(kind);
+        for (Object p : parts) {
+            sb.append('-').append(p instanceof Number n ? Long.toHexString(n.longValue()) : String.valueOf(p));
+        }
+        return sb.append('"').toString();
+    }
+}
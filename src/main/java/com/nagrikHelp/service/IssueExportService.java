@@ -0,0 +1,60 @@
+package com.nagrikHelp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nagrikHelp.dto.IssueResponse;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.IssueStatus;
+import com.nagrikHelp.repository.IssueProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Full issue export for admins. Rows are read from a Mongo cursor and written one at a time
+ * through a JsonGenerator, so memory use does not depend on how many issues match.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IssueExportService {
+
+    public enum Format { JSON, NDJSON }
+
+    private static final int BATCH_SIZE = 500;
+    private static final int FLUSH_EVERY = 200;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void write(IssueStatus status, Format format, OutputStream out) throws IOException {
+        Query q = new Query();
+        if (status != null) q.addCriteria(Criteria.where("status").is(status));
+        q.with(Sort.by(Sort.Direction.DESC, "updatedAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        IssueProjection.LIST.applyTo(q);
+        q.cursorBatchSize(BATCH_SIZE);
+
+        long rows = 0;
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+             Stream<Issue> issues = mongoTemplate.stream(q, Issue.class)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == Format.NDJSON) gen.setRootValueSeparator(null);
+            else gen.writeStartArray();
+            for (Issue i : (Iterable<Issue>) issues::iterator) {
+                gen.writeObject(IssueResponse.from(i));
+                if (format == Format.NDJSON) gen.writeRaw('\n');
+                if (++rows % FLUSH_EVERY == 0) gen.flush();
+            }
+            if (format == Format.JSON) gen.writeEndArray();
+        }
+        log.info("IssueExportService: exported {} issues as {}", rows, format);
+    }
+}
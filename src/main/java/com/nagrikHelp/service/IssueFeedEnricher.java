@@ -0,0 +1,109 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.dto.CommentResponseDto;
+import com.nagrikHelp.dto.IssueResponseDto;
+import com.nagrikHelp.dto.IssueSummaryDto;
+import com.nagrikHelp.model.Comment;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.Vote;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Batched enrichment for issue lists: the caller's vote and comment previews for a whole page
+ * are resolved with a fixed number of queries instead of 3-4 per issue. Vote tallies, comment
+ * counts and the newest comments come from denormalized fields on the issue itself.
+ */
+@Service
+@RequiredArgsConstructor
+public class IssueFeedEnricher {
+
+    private final MongoTemplate mongoTemplate;
+    private final VoteBuffer voteBuffer;
+    private final UserVoteIndex userVoteIndex;
+
+    public List<IssueResponseDto> enrich(List<Issue> issues, String userId, int recentLimit) {
+        if (issues == null || issues.isEmpty()) return List.of();
+        List<String> ids = issues.stream().map(Issue::getId).toList();
+        Map<String, String> userVotes = userVotes(ids, userId);
+        // Previews come from the embedded array; only issues it cannot answer for go to issue_comments.
+        // commentsCount is no guide: legacy issues read 0 until the reconciler has run.
+        List<String> unembedded = issues.stream()
+                .filter(i -> recentLimit > 0 && (i.getRecentComments() == null || recentLimit > Issue.RECENT_COMMENTS))
+                .map(Issue::getId).toList();
+        Map<String, List<CommentResponseDto>> fetched = unembedded.isEmpty() ? Map.of() : commentPreviews(unembedded, recentLimit);
+        List<IssueResponseDto> out = new ArrayList<>(issues.size());
+        for (Issue i : issues) {
+            IssueResponseDto dto = IssueResponseDto.from(i, i.getUpVotes(), i.getDownVotes(), userVotes.get(i.getId()));
+            List<CommentResponseDto> recent = fetched.get(i.getId());
+            if (recent == null) recent = embedded(i, recentLimit);
+            dto.withComments(i.getCommentsCount(), recent);
+            out.add(dto);
+        }
+        return out;
+    }
+
+    /** Summary read model for a page: everything comes from the issue documents themselves. */
+    public List<IssueSummaryDto> summarize(List<Issue> issues) {
+        if (issues == null || issues.isEmpty()) return List.of();
+        return issues.stream().map(i -> IssueSummaryDto.from(i, i.getCommentsCount())).toList();
+    }
+
+    /** The user's vote per issue id ("UP"/"DOWN"); issues without a vote are absent. */
+    public Map<String, String> userVotes(List<String> ids, String userId) {
+        if (userId == null || userId.isBlank()) return Map.of();
+        Map<String, String> out = userVoteIndex.votes(userId, ids).orElseGet(() -> queryVotes(ids, userId));
+        // Read-your-writes while votes are buffered
+        for (String id : ids) {
+            voteBuffer.pending(id, userId).ifPresent(p -> {
+                if (p.value() == null) out.remove(id);
+                else out.put(id, p.value().name());
+            });
+        }
+        return out;
+    }
+
+    private Map<String, String> queryVotes(List<String> ids, String userId) {
+        Query q = new Query(Criteria.where("issueId").in(ids).and("userId").is(userId));
+        q.fields().include("issueId").include("value");
+        Map<String, String> out = new HashMap<>();
+        for (Vote v : mongoTemplate.find(q, Vote.class)) {
+            if (v.getValue() != null) out.put(v.getIssueId(), v.getValue().name());
+        }
+        return out;
+    }
+
+    private static List<CommentResponseDto> embedded(Issue i, int limit) {
+        if (i.getRecentComments() == null || limit <= 0) return List.of();
+        return i.getRecentComments().stream().limit(limit).map(CommentResponseDto::from).toList();
+    }
+
+    // Newest N comments per issue in one pipeline, for issues without an embedded preview yet.
+    // $topN keeps only N per group instead of pushing every comment and slicing afterwards.
+    private Map<String, List<CommentResponseDto>> commentPreviews(List<String> ids, int recentLimit) {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("issueId", new Document("$in", ids))),
+                new Document("$group", new Document("_id", "$issueId")
+                        .append("recent", new Document("$topN", new Document("n", recentLimit)
+                                .append("sortBy", new Document("createdAt", -1).append("_id", -1))
+                                .append("output", "$$ROOT"))))
+        );
+        Map<String, List<CommentResponseDto>> out = new HashMap<>();
+        for (Document d : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Comment.class)).aggregate(pipeline)) {
+            Object key = d.get("_id");
+            if (key == null) continue;
+            List<CommentResponseDto> recent = new ArrayList<>();
+            for (Document c : d.getList("recent", Document.class, List.of())) {
+                recent.add(CommentResponseDto.from(mongoTemplate.getConverter().read(Comment.class, c)));
+            }
+            out.put(key.toString(), recent);
+        }
+        return out;
+    }
+}
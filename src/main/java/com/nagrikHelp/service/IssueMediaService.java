@@ -0,0 +1,94 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.util.ImageTypes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Bridges issue photos between the wire format (base64 in JSON) and the {@link MediaStore}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IssueMediaService {
+
+    private final MongoTemplate mongoTemplate;
+    private final MediaStore mediaStore;
+
+    public record ImageContent(byte[] bytes, String contentType) {}
+
+    /** Decodes and stores an uploaded image; returns its content hash, or null when none was sent. */
+    public String storeBase64(String imageBase64) {
+        if (imageBase64 == null || imageBase64.isBlank()) return null;
+        ImageContent img = decode(imageBase64);
+        return mediaStore.put(img.bytes(), img.contentType());
+    }
+
+    public Optional<String> findImageHash(String issueId) {
+        Query q = new Query(Criteria.where("id").is(issueId));
+        q.fields().include("imageHash");
+        Issue i = mongoTemplate.findOne(q, Issue.class);
+        return Optional.ofNullable(i).map(Issue::getImageHash);
+    }
+
+    public Optional<ImageContent> loadIssueImage(String issueId) {
+        Query q = new Query(Criteria.where("id").is(issueId));
+        q.fields().include("imageHash").include("imageBase64");
+        Issue i = mongoTemplate.findOne(q, Issue.class);
+        if (i == null) return Optional.empty();
+        if (i.getImageHash() != null) {
+            return mediaStore.open(i.getImageHash()).map(this::read);
+        }
+        if (i.getImageBase64() == null || i.getImageBase64().isBlank()) return Optional.empty();
+        return Optional.of(decode(i.getImageBase64()));
+    }
+
+    /** Base64 form for DTOs that still expose imageBase64 (single-issue views only). */
+    public String inlineBase64(Issue i) {
+        if (i.getImageBase64() != null && !i.getImageBase64().isBlank()) return i.getImageBase64();
+        if (i.getImageHash() == null) return null;
+        return mediaStore.open(i.getImageHash())
+                .map(b -> Base64.getEncoder().encodeToString(read(b).bytes()))
+                .orElseGet(() -> {
+                    log.warn("Issue {} references missing media {}", i.getId(), i.getImageHash());
+                    return null;
+                });
+    }
+
+    private ImageContent read(MediaBlob blob) {
+        try {
+            byte[] bytes = blob.readAllBytes();
+            return new ImageContent(bytes, blob.contentType() != null ? blob.contentType() : ImageTypes.sniffOrDefault(bytes));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read media " + blob.hash(), e);
+        }
+    }
+
+    /** Accepts raw base64 or a data URL ("data:image/png;base64,...") as sent by the frontend. */
+    public static ImageContent decode(String imageBase64) {
+        String data = imageBase64.trim();
+        String declared = null;
+        if (data.startsWith("data:")) {
+            int comma = data.indexOf(',');
+            if (comma < 0) throw new IllegalArgumentException("Malformed data URL");
+            String meta = data.substring(5, comma);
+            int semi = meta.indexOf(';');
+            declared = semi >= 0 ? meta.substring(0, semi) : meta;
+            data = data.substring(comma + 1);
+        }
+        byte[] bytes = Base64.getMimeDecoder().decode(data);
+        String type = ImageTypes.sniff(bytes);
+        if (type == null) type = (declared != null && !declared.isBlank()) ? declared : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        return new ImageContent(bytes, type);
+    }
+}
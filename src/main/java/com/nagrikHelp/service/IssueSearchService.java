@@ -0,0 +1,193 @@
+package com.nagrikHelp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nagrikHelp.dto.CursorPage;
+import com.nagrikHelp.dto.IssueSummaryDto;
+import com.nagrikHelp.model.Comment;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.IssueCategory;
+import com.nagrikHelp.model.IssueStatus;
+import com.nagrikHelp.repository.IssueProjection;
+import com.nagrikHelp.util.GeoPoints;
+import com.nagrikHelp.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Relevance-ranked search over issue title/description and comment text, backed by the Mongo
+ * text indexes on both collections. An issue's score is its own text score plus a discounted
+ * score for its best matching comment. Filters apply to both sources before each is cut to
+ * {@link #MAX_CANDIDATES} issues; when either cut was hit the page is marked truncated. The ranked
+ * candidates are cached for {@link #RANKING_TTL} and paged on (score desc, id desc) with the
+ * usual opaque cursor, so later pages are cheap and consistent with the first.
+ */
+@Service
+@RequiredArgsConstructor
+public class IssueSearchService {
+
+    public static final int MAX_CANDIDATES = 1000;
+    public static final int MAX_QUERY_LENGTH = 200;
+    // A hit in a comment says less about the issue than the same hit in its own title/description
+    static final double COMMENT_WEIGHT = 0.5;
+    private static final Duration RANKING_TTL = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueFeedEnricher feedEnricher;
+    // Ranked candidates per query, so paging through results does not redo both text searches
+    private final Cache<RankingKey, Ranking> rankings = Caffeine.newBuilder()
+            .maximumSize(256)
+            .expireAfterWrite(RANKING_TTL)
+            .build();
+
+    private record RankingKey(String terms, Filters filters) {}
+
+    private record Hit(String id, double score) {}
+
+    private record Ranking(List<Hit> hits, boolean truncated) {}
+
+    /** Optional filters; {@code geo} is a criteria from GeoPoints, created bounds are epoch millis [from, to). */
+    public record Filters(IssueStatus status, IssueCategory category, Long createdFrom, Long createdTo, Criteria geo) {
+
+        /**
+         * Request-parameter form: dates are inclusive local days; geo is either lat/lon(/radiusKm,
+         * default 2 km) or a full bounding box. Throws IllegalArgumentException for partial input.
+         */
+        public static Filters of(IssueStatus status, IssueCategory category, LocalDate from, LocalDate to,
+                                 Double lat, Double lon, Double radiusKm,
+                                 Double minLat, Double minLon, Double maxLat, Double maxLon) {
+            Criteria geo = null;
+            if (lat != null || lon != null) {
+                if (lat == null || lon == null) throw new IllegalArgumentException("lat and lon must be given together");
+                geo = GeoPoints.withinRadius(lat, lon, radiusKm != null ? radiusKm : 2);
+            } else if (minLat != null || minLon != null || maxLat != null || maxLon != null) {
+                if (minLat == null || minLon == null || maxLat == null || maxLon == null) throw new IllegalArgumentException("Incomplete bounding box");
+                geo = GeoPoints.withinBox(minLat, minLon, maxLat, maxLon);
+            }
+            ZoneId zone = ZoneId.systemDefault();
+            Long fromMs = from == null ? null : from.atStartOfDay(zone).toInstant().toEpochMilli();
+            Long toMs = to == null ? null : to.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            return new Filters(status, category, fromMs, toMs, geo);
+        }
+
+        Criteria toCriteria() {
+            List<Criteria> and = new ArrayList<>();
+            if (status != null) and.add(Criteria.where("status").is(status));
+            if (category != null) and.add(Criteria.where("category").is(category));
+            if (createdFrom != null || createdTo != null) {
+                Criteria created = Criteria.where("createdAt");
+                if (createdFrom != null) created.gte(createdFrom);
+                if (createdTo != null) created.lt(createdTo);
+                and.add(created);
+            }
+            if (geo != null) and.add(geo);
+            return and.isEmpty() ? null : new Criteria().andOperator(and.toArray(new Criteria[0]));
+        }
+    }
+
+    public CursorPage<IssueSummaryDto> search(String text, Filters filters, String cursor, Integer limit) {
+        String terms = text == null ? "" : text.trim();
+        if (terms.isEmpty()) throw new IllegalArgumentException("q is required");
+        if (terms.length() > MAX_QUERY_LENGTH) throw new IllegalArgumentException("q is too long");
+        int size = limit == null ? IssueService.DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, IssueService.MAX_PAGE_SIZE));
+        PageCursor after = PageCursor.decode(cursor);
+        Ranking ranking = rankings.get(new RankingKey(terms, filters), k -> rank(terms, filters == null ? null : filters.toCriteria()));
+
+        List<Hit> hits = ranking.hits().stream()
+                .filter(h -> after == null || isAfter(h.score(), h.id(), after))
+                .limit(size + 1L)
+                .toList();
+        String next = null;
+        if (hits.size() > size) {
+            hits = hits.subList(0, size);
+            Hit last = hits.get(size - 1);
+            next = PageCursor.of(last.score(), last.id()).encode();
+        }
+        // Documents are read per page, so counts and status stay current while the ranking is cached
+        List<String> ids = hits.stream().map(Hit::id).toList();
+        Query q = new Query(Criteria.where("id").in(ids));
+        IssueProjection.SUMMARY.applyTo(q);
+        Map<String, Issue> byId = new HashMap<>();
+        for (Issue i : mongoTemplate.find(q, Issue.class)) byId.put(i.getId(), i);
+        List<Issue> page = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new CursorPage<>(feedEnricher.summarize(page), next, ranking.truncated());
+    }
+
+    private Ranking rank(String terms, Criteria filter) {
+        Map<String, Double> scores = issueHits(terms, filter, null);
+        boolean truncated = scores.size() >= MAX_CANDIDATES;
+        Map<String, Double> commentScores = commentHits(terms, filter);
+        truncated |= commentScores.size() >= MAX_CANDIDATES;
+        // Issues past the issue-side cut but boosted by a comment still get their own text score
+        List<String> onlyInComments = commentScores.keySet().stream().filter(id -> !scores.containsKey(id)).toList();
+        if (!onlyInComments.isEmpty()) scores.putAll(issueHits(terms, filter, onlyInComments));
+        commentScores.forEach((id, s) -> scores.merge(id, COMMENT_WEIGHT * s, Double::sum));
+
+        Comparator<Hit> order = Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(Hit::id, Comparator.reverseOrder());
+        List<Hit> hits = scores.entrySet().stream().map(e -> new Hit(e.getKey(), e.getValue())).sorted(order).toList();
+        return new Ranking(hits, truncated);
+    }
+
+    // Own text score per issue: the best MAX_CANDIDATES, or every match among ids when given
+    private Map<String, Double> issueHits(String terms, Criteria filter, List<String> ids) {
+        Query q = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(terms)).sortByScore();
+        if (filter != null) q.addCriteria(filter);
+        if (ids != null) q.addCriteria(Criteria.where("id").in(ids));
+        else q.limit(MAX_CANDIDATES);
+        q.fields().include("id");
+        Map<String, Double> out = new HashMap<>();
+        for (Issue i : mongoTemplate.find(q, Issue.class)) out.put(i.getId(), i.getScore() == null ? 0.0 : i.getScore());
+        return out;
+    }
+
+    // Best comment score per issue, among issues that pass the filters
+    private Map<String, Double> commentHits(String terms, Criteria filter) {
+        List<Document> pipeline = new ArrayList<>(List.of(
+                new Document("$match", new Document("$text", new Document("$search", terms))),
+                new Document("$project", new Document("issueId", 1).append("score", new Document("$meta", "textScore"))),
+                new Document("$group", new Document("_id", "$issueId").append("score", new Document("$max", "$score")))
+        ));
+        if (filter != null) {
+            // Filter before the cut, so the candidate cap is spent on issues that can be shown
+            QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+            Document issueMatch = mapper.getMappedObject(filter.getCriteriaObject(),
+                    mongoTemplate.getConverter().getMappingContext().getPersistentEntity(Issue.class));
+            Document toObjectId = new Document("$convert", new Document("input", "$_id").append("to", "objectId")
+                    .append("onError", null).append("onNull", null));
+            pipeline.add(new Document("$lookup", new Document("from", mongoTemplate.getCollectionName(Issue.class))
+                    .append("let", new Document("id", toObjectId))
+                    .append("pipeline", List.of(
+                            new Document("$match", new Document("$expr", new Document("$eq", List.of("$_id", "$$id")))),
+                            new Document("$match", issueMatch),
+                            new Document("$project", new Document("_id", 1))))
+                    .append("as", "issue")));
+            pipeline.add(new Document("$match", new Document("issue", new Document("$ne", List.of()))));
+        }
+        pipeline.add(new Document("$sort", new Document("score", -1)));
+        pipeline.add(new Document("$limit", MAX_CANDIDATES));
+        Map<String, Double> out = new HashMap<>();
+        for (Document d : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Comment.class)).aggregate(pipeline)) {
+            Object id = d.get("_id");
+            if (id != null) out.put(id.toString(), ((Number) d.get("score")).doubleValue());
+        }
+        return out;
+    }
+
+    private static boolean isAfter(double score, String id, PageCursor c) {
+        double s = c.scoreKey();
+        return score < s || (score == s && id.compareTo(c.id()) < 0);
+    }
+}
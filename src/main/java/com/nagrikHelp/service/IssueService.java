@@ -2,14 +2,23 @@ package com.nagrikHelp.service;
 
 import com.nagrikHelp.dto.*;
 import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.IssueCategory;
 import com.nagrikHelp.model.IssueStatus;
 import com.nagrikHelp.model.User;
+import com.nagrikHelp.repository.IssueProjection;
 import com.nagrikHelp.repository.IssueRepository;
+import com.nagrikHelp.repository.IssueRepositoryCustom;
+import com.nagrikHelp.repository.IssueSort;
 import com.nagrikHelp.repository.UserRepository;
 import com.nagrikHelp.service.VoteService;
 import com.nagrikHelp.service.CommentService;
+import com.nagrikHelp.util.GeoPoints;
+import com.nagrikHelp.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -29,6 +38,19 @@ public class IssueService {
     private final VoteService voteService;
     private final CommentService commentService;
     private final NotificationService notificationService;
+    private final IssueFeedEnricher feedEnricher;
+    private final IssueMediaService issueMediaService;
+    private final ImageVariantService imageVariantService;
+    private final IssueChangeTracker changeTracker;
+    private final IssueDetailCache detailCache;
+    private final IssueClusterService clusterService;
+    private final IssueStatsService statsService;
+    private final IssueDuplicateService duplicateService;
+    private final ImageDuplicateService imageDuplicateService;
+    private final HotScoreService hotScoreService;
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
 
     // Phase 1 existing API (kept for compatibility)
     public IssueResponse createIssue(String createdBy, CreateIssueRequest req) {
@@ -37,47 +59,116 @@ public class IssueService {
                 .title(req.getTitle())
                 .description(req.getDescription())
                 .location(req.getLocation())
+                .geo(GeoPoints.parse(req.getLocation()))
                 .photoUrl(req.getPhotoUrl())
                 .status(IssueStatus.OPEN)
                 .createdBy(createdBy)
                 .createdAt(now)
                 .updatedAt(new Date(now))
                 .shareToken(UUID.randomUUID().toString())
+                .recentComments(new ArrayList<>()) // an absent array marks legacy issues that need a fallback read
                 .build();
+        duplicateService.sign(issue);
+        hotScoreService.initialize(issue);
         issueRepository.save(issue);
+        changeTracker.bump();
+        clusterService.add(issue);
+        statsService.add(issue);
         return IssueResponse.from(issue);
     }
 
-    public List<IssueResponse> getIssuesForUser(String email) {
-        return issueRepository.findByCreatedByOrderByUpdatedAtDesc(email)
-                .stream().map(IssueResponse::from).toList();
+    public CursorPage<IssueResponse> getIssuesForUser(String email, String cursor, Integer limit) {
+        return page(Criteria.where("createdBy").is(email), cursor, limit)
+                .map(items -> items.stream().map(IssueResponse::from).toList());
     }
 
     // New Phase 2 variant returning enriched DTOs (with category, image, votes, comments)
-    public List<IssueResponseDto> getIssuesForUserDto(String email) {
-        return issueRepository.findByCreatedByOrderByUpdatedAtDesc(email)
-                .stream().map(i -> {
-                    IssueVoteSummaryDto vs = voteService.summarize(i.getId(), "__anon__");
-                    IssueResponseDto dto = IssueResponseDto.from(i, vs.getUpVotes(), vs.getDownVotes(), null);
-                    long cCount = commentService.count(i.getId());
-                    dto.withComments(cCount, commentService.recent(i.getId(), 3));
-                    return dto;
-                }).toList();
+    public CursorPage<IssueResponseDto> getIssuesForUserDto(String email, String cursor, Integer limit) {
+        return page(Criteria.where("createdBy").is(email), cursor, limit)
+                .map(items -> feedEnricher.enrich(items, email, 3));
+    }
+
+    public CursorPage<IssueSummaryDto> getIssueSummaries(IssueStatus status, String cursor, Integer limit) {
+        return getIssueSummaries(status, IssueSort.RECENT, cursor, limit);
+    }
+
+    public CursorPage<IssueSummaryDto> getIssueSummaries(IssueStatus status, IssueSort sort, String cursor, Integer limit) {
+        Criteria filter = status == null ? null : Criteria.where("status").is(status);
+        return page(filter, cursor, limit, IssueProjection.SUMMARY, sort).map(feedEnricher::summarize);
+    }
+
+    // Map views: nearest first via $geoNear, paged on (distance, _id)
+    public CursorPage<IssueSummaryDto> getIssuesNear(double lat, double lon, double radiusKm,
+                                                     IssueStatus status, IssueCategory category, String cursor, Integer limit) {
+        return mapPage(GeoPoints.point(lat, lon), GeoPoints.radiusMeters(radiusKm), null, status, category, cursor, limit);
+    }
+
+    // Distances run from the box centre, out to its farthest corner
+    public CursorPage<IssueSummaryDto> getIssuesInBox(double minLat, double minLon, double maxLat, double maxLon,
+                                                      IssueStatus status, IssueCategory category, String cursor, Integer limit) {
+        Criteria box = GeoPoints.withinBox(minLat, minLon, maxLat, maxLon);
+        double lat = (minLat + maxLat) / 2;
+        double lon = (minLon + maxLon) / 2;
+        double reach = Math.max(GeoPoints.meters(lat, lon, minLat, minLon), GeoPoints.meters(lat, lon, maxLat, minLon));
+        return mapPage(GeoPoints.point(lat, lon), reach + 1, box, status, category, cursor, limit);
+    }
+
+    private CursorPage<IssueSummaryDto> mapPage(GeoJsonPoint center, double maxMeters, Criteria filter,
+                                                IssueStatus status, IssueCategory category, String cursor, Integer limit) {
+        if (status != null) filter = filter == null ? Criteria.where("status").is(status) : filter.and("status").is(status);
+        if (category != null) filter = filter == null ? Criteria.where("category").is(category) : filter.and("category").is(category);
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<IssueRepositoryCustom.Near> rows = issueRepository.findNear(center, maxMeters, filter,
+                PageCursor.decode(cursor), size, IssueProjection.SUMMARY);
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            IssueRepositoryCustom.Near last = rows.get(size - 1);
+            next = PageCursor.of(last.meters(), last.issue().getId()).encode();
+        }
+        return new CursorPage<>(rows.stream().map(IssueRepositoryCustom.Near::issue).toList(), next)
+                .map(feedEnricher::summarize);
     }
 
-    public List<IssueResponse> getAllIssuesCompat() {
-        return issueRepository.findAllByOrderByUpdatedAtDesc()
-                .stream().map(IssueResponse::from).toList();
+    public CursorPage<IssueResponse> getAllIssuesCompat(String cursor, Integer limit) {
+        return getIssuesByStatus(null, cursor, limit);
+    }
+
+    // Keyset page over (updatedAt desc, _id desc) unless a sort is given; limit is clamped to [1, MAX_PAGE_SIZE]
+    private CursorPage<Issue> page(Criteria filter, String cursor, Integer limit) {
+        return page(filter, cursor, limit, IssueProjection.LIST);
+    }
+
+    private CursorPage<Issue> page(Criteria filter, String cursor, Integer limit, IssueProjection projection) {
+        return page(filter, cursor, limit, projection, IssueSort.RECENT);
+    }
+
+    private CursorPage<Issue> page(Criteria filter, String cursor, Integer limit, IssueProjection projection, IssueSort sort) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Issue> rows = issueRepository.findPage(filter, PageCursor.decode(cursor), size, projection, sort);
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = sort.cursorFor(rows.get(size - 1)).encode();
+        }
+        return new CursorPage<>(rows, next);
     }
 
     public Optional<IssueResponse> updateIssue(String id, UpdateIssueRequest req) {
         return issueRepository.findById(id).map(existing -> {
             IssueStatus prev = existing.getStatus();
+            IssueClusterService.Placement before = IssueClusterService.Placement.of(existing);
+            IssueStatsService.Facet facetBefore = IssueStatsService.Facet.of(existing);
             if (req.getStatus() != null && !req.getStatus().isBlank()) {
                 existing.setStatus(parseStatus(req.getStatus()));
             }
             existing.setUpdatedAt(new Date());
-            issueRepository.save(existing);
+            issueRepository.updateFields(existing.getId(), new Update()
+                    .set("status", existing.getStatus())
+                    .set("updatedAt", existing.getUpdatedAt()));
+            changed(existing.getId());
+            clusterService.move(before, IssueClusterService.Placement.of(existing));
+            statsService.move(facetBefore, IssueStatsService.Facet.of(existing));
             // If status changed, notify followers and owner
             try {
                 if (prev != existing.getStatus()) {
@@ -99,12 +190,15 @@ public class IssueService {
         long now = System.currentTimeMillis();
         String email = userDetails.getUsername();
         User user = userRepository.findByEmail(email).orElse(null);
+        String imageHash = issueMediaService.storeBase64(dto.getImageBase64());
         Issue issue = Issue.builder()
                 .title(dto.getTitle())
                 .description(dto.getDescription())
                 .category(dto.getCategory())
-                .imageBase64(dto.getImageBase64())
+                .imageHash(imageHash)
+                .hasImage(imageHash != null)
                 .location(dto.getLocation())
+                .geo(GeoPoints.parse(dto.getLocation()))
                 .status(IssueStatus.OPEN)
                 .createdBy(email)
                 .createdById(user != null ? user.getId() : null)
@@ -112,32 +206,55 @@ public class IssueService {
                 .createdAt(now)
                 .updatedAt(new Date(now))
                 .shareToken(UUID.randomUUID().toString())
+                .recentComments(new ArrayList<>())
                 .build();
+        duplicateService.sign(issue);
+        hotScoreService.initialize(issue);
         issueRepository.save(issue);
-        return IssueResponseDto.from(issue);
+        changeTracker.bump();
+        clusterService.add(issue);
+        statsService.add(issue);
+        imageVariantService.submit(issue.getId(), imageHash);
+        IssueResponseDto created = IssueResponseDto.from(issue);
+        created.setImageBase64(dto.getImageBase64()); // echo back; the document only holds the hash
+        created.setPossibleDuplicates(possibleDuplicates(issue));
+        return created;
+    }
+
+    public CursorPage<IssueResponseDto> getAllIssues(String cursor, Integer limit) {
+        return getAllIssues(IssueSort.RECENT, cursor, limit, null);
     }
 
-    public List<IssueResponseDto> getAllIssues() {
-        return issueRepository.findAllByOrderByUpdatedAtDesc()
-                .stream().map(i -> {
-                    IssueVoteSummaryDto vs = voteService.summarize(i.getId(), "__anon__");
-                    IssueResponseDto dto = IssueResponseDto.from(i, vs.getUpVotes(), vs.getDownVotes(), null);
-                    long cCount = commentService.count(i.getId());
-                    dto.withComments(cCount, commentService.recent(i.getId(), 3));
-                    return dto;
-                }).toList();
+    /** @param userId the caller, whose votes are resolved for the whole page; null for anonymous */
+    public CursorPage<IssueResponseDto> getAllIssues(IssueSort sort, String cursor, Integer limit, String userId) {
+        return page(null, cursor, limit, IssueProjection.LIST, sort).map(items -> feedEnricher.enrich(items, userId, 3));
     }
 
     public Optional<IssueResponseDto> getIssueById(String id, String userId) {
-        return issueRepository.findById(id).map(i -> {
-            IssueVoteSummaryDto vs = voteService.summarize(i.getId(), userId == null ? "__anon__" : userId);
-            IssueResponseDto dto = IssueResponseDto.from(i, vs.getUpVotes(), vs.getDownVotes(), vs.getUserVote());
-            long cCount = commentService.count(i.getId());
-            dto.withComments(cCount, commentService.recent(i.getId(), 20));
+        return getIssueById(id, userId, null);
+    }
+
+    /**
+     * Detail view served from {@link IssueDetailCache}; only the caller's vote is looked up per request.
+     * @param validator the current detail ETag when the caller already computed it, so a cached view
+     *                  built from an older state is reloaded rather than served under a newer tag
+     */
+    public Optional<IssueResponseDto> getIssueById(String id, String userId, String validator) {
+        return detailCache.detail(id, validator, this::loadDetail).map(dto -> {
+            dto.setUserVote(voteService.userVote(id, userId));
             return dto;
         });
     }
 
+    private IssueDetailCache.Detail loadDetail(String id) {
+        return issueRepository.findById(id).map(i -> {
+            IssueResponseDto dto = IssueResponseDto.from(i, i.getUpVotes(), i.getDownVotes(), null);
+            dto.withComments(i.getCommentsCount(), commentService.recent(i.getId(), 20));
+            dto.setImageBase64(issueMediaService.inlineBase64(i));
+            return new IssueDetailCache.Detail(IssueEtagService.detailTag(i), dto);
+        }).orElse(null);
+    }
+
     // Retain old signature for existing controller usage
     public Optional<IssueResponseDto> getIssueById(String id) {
         return getIssueById(id, null);
@@ -148,18 +265,39 @@ public class IssueService {
     }
 
     public Optional<PublicIssueResponse> getIssueByShareToken(String token, String email, String phone) {
+        return getIssueByShareToken(token, email, phone, null);
+    }
+
+    /** Share page from {@link IssueDetailCache}; "following" is derived per caller from the cached follower sets. */
+    public Optional<PublicIssueResponse> getIssueByShareToken(String token, String email, String phone, String validator) {
         if (token == null || token.isBlank()) return Optional.empty();
-        return issueRepository.findByShareToken(token.trim()).map(i -> {
-            // Ensure backward compatibility for pre-existing issues without token
-            if (i.getShareToken() == null) {
-                i.setShareToken(UUID.randomUUID().toString());
-                issueRepository.save(i);
-            }
-            IssueVoteSummaryDto vs = voteService.summarize(i.getId(), "__anon__");
-            return PublicIssueResponse.from(i, vs.getUpVotes(), email, phone);
+        return detailCache.shared(token.trim(), validator, this::issueIdForToken, this::loadShared).map(s -> {
+            PublicIssueResponse pub = s.view().copy();
+            boolean following = (email != null && s.followerEmails().contains(email.trim()))
+                    || (phone != null && s.followerPhones().contains(phone.trim()));
+            pub.setFollowing(following);
+            return pub;
         });
     }
 
+    private String issueIdForToken(String token) {
+        return issueRepository.findIdByShareToken(token).map(Issue::getId).orElse(null);
+    }
+
+    private IssueDetailCache.Shared loadShared(String id) {
+        return issueRepository.findById(id).map(i -> {
+            PublicIssueResponse pub = PublicIssueResponse.from(i, i.getUpVotes());
+            pub.setImageBase64(issueMediaService.inlineBase64(i));
+            return new IssueDetailCache.Shared(IssueEtagService.sharedTag(i), pub,
+                    followerSet(i.getFollowerEmails()), followerSet(i.getFollowerPhones()));
+        }).orElse(null);
+    }
+
+    private static Set<String> followerSet(List<String> values) {
+        if (values == null) return Set.of();
+        return values.stream().filter(Objects::nonNull).map(String::trim).collect(Collectors.toUnmodifiableSet());
+    }
+
     // Phase 3 admin methods --------------------------------------------------
 
     private static final Map<IssueStatus, Set<IssueStatus>> VALID_TRANSITIONS = Map.of(
@@ -176,7 +314,8 @@ public class IssueService {
                     issue.getFollowerEmails() == null ? 0 : issue.getFollowerEmails().size(), issue.getCreatedBy());
             if (current == nextStatus) {
                 issue.setUpdatedAt(new Date());
-                issueRepository.save(issue);
+                issueRepository.updateFields(issueId, new Update().set("updatedAt", issue.getUpdatedAt()));
+                changed(issueId);
                 try {
                     log.debug("updateIssueStatus: status unchanged; notifying owner for id={}", issueId);
                     notificationService.notifyOwnerOnStatusChange(issue);
@@ -188,9 +327,16 @@ public class IssueService {
                 log.warn("updateIssueStatus: invalid transition {} -> {} for issueId={}", current, nextStatus, issueId);
                 throw new IllegalStateException("Invalid status transition: " + current + " -> " + nextStatus);
             }
+            IssueClusterService.Placement before = IssueClusterService.Placement.of(issue);
+            IssueStatsService.Facet facetBefore = IssueStatsService.Facet.of(issue);
             issue.setStatus(nextStatus);
             issue.setUpdatedAt(new Date());
-            issueRepository.save(issue);
+            issueRepository.updateFields(issueId, new Update()
+                    .set("status", nextStatus)
+                    .set("updatedAt", issue.getUpdatedAt()));
+            changed(issueId);
+            clusterService.move(before, IssueClusterService.Placement.of(issue));
+            statsService.move(facetBefore, IssueStatsService.Facet.of(issue));
             log.info("updateIssueStatus: saved new status {} for issueId={}", nextStatus, issueId);
             try {
                 // Admin-triggered status changes notify the owner only (not followers)
@@ -205,11 +351,18 @@ public class IssueService {
     public Optional<IssueResponse> updateIssueAsAdmin(String id, UpdateIssueRequest req, String adminUser) {
         return issueRepository.findById(id).map(existing -> {
             IssueStatus prev = existing.getStatus();
+            IssueClusterService.Placement before = IssueClusterService.Placement.of(existing);
+            IssueStatsService.Facet facetBefore = IssueStatsService.Facet.of(existing);
             if (req.getStatus() != null && !req.getStatus().isBlank()) {
                 existing.setStatus(parseStatus(req.getStatus()));
             }
             existing.setUpdatedAt(new Date());
-            issueRepository.save(existing);
+            issueRepository.updateFields(existing.getId(), new Update()
+                    .set("status", existing.getStatus())
+                    .set("updatedAt", existing.getUpdatedAt()));
+            changed(existing.getId());
+            clusterService.move(before, IssueClusterService.Placement.of(existing));
+            statsService.move(facetBefore, IssueStatsService.Facet.of(existing));
             // If status changed, notify the owner only
             try {
                 if (prev != existing.getStatus()) {
@@ -222,18 +375,21 @@ public class IssueService {
 
     public Optional<IssueResponse> assignIssue(String issueId, String assignee, String adminUser) {
         return issueRepository.findById(issueId).map(issue -> {
+            IssueStatsService.Facet facetBefore = IssueStatsService.Facet.of(issue);
             issue.setAssignedTo(assignee == null || assignee.isBlank() ? null : assignee.trim());
             issue.setUpdatedAt(new Date());
-            issueRepository.save(issue);
+            issueRepository.updateFields(issueId, new Update()
+                    .set("assignedTo", issue.getAssignedTo())
+                    .set("updatedAt", issue.getUpdatedAt()));
+            changed(issueId);
+            statsService.move(facetBefore, IssueStatsService.Facet.of(issue));
             return IssueResponse.from(issue);
         });
     }
 
-    public List<IssueResponse> getIssuesByStatus(IssueStatus status) {
-        if (status == null) {
-            return issueRepository.findAllByOrderByUpdatedAtDesc().stream().map(IssueResponse::from).toList();
-        }
-        return issueRepository.findByStatusOrderByUpdatedAtDesc(status).stream().map(IssueResponse::from).toList();
+    public CursorPage<IssueResponse> getIssuesByStatus(IssueStatus status, String cursor, Integer limit) {
+        Criteria filter = status == null ? null : Criteria.where("status").is(status);
+        return page(filter, cursor, limit).map(items -> items.stream().map(IssueResponse::from).toList());
     }
 
     // Monthly resolved report
@@ -258,15 +414,55 @@ public class IssueService {
 
     public Optional<IssueResponse> updateCitizenIssue(String userEmail, String issueId, CitizenUpdateIssueRequest req) {
         return issueRepository.findByIdAndCreatedBy(issueId, userEmail).map(issue -> {
+            IssueClusterService.Placement before = IssueClusterService.Placement.of(issue);
+            IssueStatsService.Facet facetBefore = IssueStatsService.Facet.of(issue);
             boolean changed = false;
             if (req.getTitle() != null && !req.getTitle().isBlank()) { issue.setTitle(req.getTitle().trim()); changed = true; }
             if (req.getDescription() != null && !req.getDescription().isBlank()) { issue.setDescription(req.getDescription().trim()); changed = true; }
-            if (req.getLocation() != null && !req.getLocation().isBlank()) { issue.setLocation(req.getLocation().trim()); changed = true; }
+            if (req.getLocation() != null && !req.getLocation().isBlank()) {
+                issue.setLocation(req.getLocation().trim());
+                issue.setGeo(GeoPoints.parse(issue.getLocation()));
+                changed = true;
+            }
             if (req.getCategory() != null) { issue.setCategory(req.getCategory()); changed = true; }
-            if (req.getImageBase64() != null && !req.getImageBase64().isBlank()) { issue.setImageBase64(req.getImageBase64()); changed = true; }
+            boolean photoChanged = false;
+            if (req.getImageBase64() != null && !req.getImageBase64().isBlank()) {
+                issue.setImageHash(issueMediaService.storeBase64(req.getImageBase64()));
+                issue.setImageBase64(null);
+                issue.setImageVariants(null);
+                issue.setImageDHash(null);
+                issue.setImageDHashChunks(null);
+                issue.setImageDHashVersion(null);
+                issue.setHasImage(true);
+                photoChanged = changed = true;
+            }
             if (changed) {
                 issue.setUpdatedAt(new Date());
-                issueRepository.save(issue);
+                duplicateService.sign(issue);
+                Update update = new Update()
+                        .set("title", issue.getTitle())
+                        .set("description", issue.getDescription())
+                        .set("location", issue.getLocation())
+                        .set("category", issue.getCategory())
+                        .set("imageHash", issue.getImageHash())
+                        .set("hasImage", issue.isHasImage())
+                        .set("dupSignature", issue.getDupSignature())
+                        .set("dupBands", issue.getDupBands())
+                        .set("updatedAt", issue.getUpdatedAt());
+                if (issue.getImageHash() != null) update.unset("imageBase64");
+                if (photoChanged) {
+                    // Thumbnails and the perceptual hash describe the old photo; the variant job (or
+                    // the backfill, if the job is dropped) regenerates them for the new one
+                    update.unset("imageVariants").unset("imageDHash").unset("imageDHashChunks").unset("imageDHashVersion");
+                } else if (issue.getImageVariants() != null) {
+                    update.set("imageVariants", issue.getImageVariants());
+                }
+                if (issue.getGeo() != null) update.set("geo", issue.getGeo()); else update.unset("geo");
+                issueRepository.updateFields(issue.getId(), update);
+                changed(issue.getId());
+                clusterService.move(before, IssueClusterService.Placement.of(issue));
+                statsService.move(facetBefore, IssueStatsService.Facet.of(issue));
+                if (issue.getImageVariants() == null) imageVariantService.submit(issue.getId(), issue.getImageHash());
             }
             return IssueResponse.from(issue);
         });
@@ -275,6 +471,9 @@ public class IssueService {
     public boolean deleteCitizenIssue(String userEmail, String issueId) {
         return issueRepository.findByIdAndCreatedBy(issueId, userEmail).map(i -> {
             issueRepository.deleteById(i.getId());
+            changed(i.getId());
+            clusterService.remove(i);
+            statsService.remove(i);
             return true;
         }).orElse(false);
     }
@@ -297,7 +496,7 @@ public class IssueService {
             }
             if (changed) {
                 issue.setUpdatedAt(new Date());
-                issueRepository.save(issue);
+                saveFollowers(issue);
             }
             return IssueResponse.from(issue);
         });
@@ -312,9 +511,33 @@ public class IssueService {
             if (req.getWebhookUrl() != null && issue.getFollowerWebhookUrls().remove(req.getWebhookUrl().trim())) changed = true;
             if (changed) {
                 issue.setUpdatedAt(new Date());
-                issueRepository.save(issue);
+                saveFollowers(issue);
             }
             return IssueResponse.from(issue);
         });
     }
+
+    // Same photo first (known now from the content hash; near-identical photos need the async
+    // perceptual hash, see ImageDuplicateService), then text look-alikes nearby
+    private List<IssueSummaryDto> possibleDuplicates(Issue issue) {
+        Map<String, IssueSummaryDto> out = new LinkedHashMap<>();
+        for (IssueSummaryDto s : imageDuplicateService.sameImage(issue.getImageHash(), issue.getId())) out.putIfAbsent(s.getId(), s);
+        for (IssueSummaryDto s : duplicateService.candidates(issue.getTitle(), issue.getDescription(),
+                issue.getCategory(), issue.getLocation(), issue.getId())) out.putIfAbsent(s.getId(), s);
+        return new ArrayList<>(out.values());
+    }
+
+    private void changed(String issueId) {
+        changeTracker.bump();
+        detailCache.invalidate(issueId);
+    }
+
+    private void saveFollowers(Issue issue) {
+        issueRepository.updateFields(issue.getId(), new Update()
+                .set("followerPhones", issue.getFollowerPhones())
+                .set("followerEmails", issue.getFollowerEmails())
+                .set("followerWebhookUrls", issue.getFollowerWebhookUrls())
+                .set("updatedAt", issue.getUpdatedAt()));
+        changed(issue.getId());
+    }
 }
@@ -0,0 +1,100 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.IssueCategory;
+import com.nagrikHelp.model.IssueStatsCell;
+import com.nagrikHelp.model.IssueStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomputes {@code issue_stats} from the issues collection with one $group. Runs shortly after
+ * startup (which also fills the collection the first time) and then periodically to repair drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IssueStatsReconciler {
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueChangeTracker changeTracker;
+
+    @Scheduled(initialDelayString = "${app.stats.reconcile-initial-delay-ms:30000}",
+            fixedDelayString = "${app.stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            long fixed = reconcileAll();
+            if (fixed > 0) {
+                changeTracker.bump();
+                log.info("IssueStatsReconciler: corrected {} stats cells", fixed);
+            } else {
+                log.debug("IssueStatsReconciler: stats consistent");
+            }
+        } catch (Exception e) {
+            log.warn("IssueStatsReconciler failed: {}", e.getMessage());
+        }
+    }
+
+    public long reconcileAll() {
+        // Cells first, issues second: a write landing after this read moves its cell's count, so the
+        // conditional overwrite below misses and the cell waits for the next run instead of losing it
+        List<IssueStatsCell> cells = mongoTemplate.findAll(IssueStatsCell.class);
+
+        Aggregation agg = Aggregation.newAggregation(
+                Aggregation.group("status", "category", "assignedTo").count().as("count")
+        ).withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+        Map<String, IssueStatsService.Facet> facets = new HashMap<>();
+        Map<String, Long> expected = new HashMap<>();
+        for (Document d : mongoTemplate.aggregate(agg, Issue.class, Document.class).getMappedResults()) {
+            Document key = d.get("_id", Document.class);
+            IssueStatsService.Facet f;
+            try {
+                f = new IssueStatsService.Facet(
+                        key.getString("status") == null ? null : IssueStatus.valueOf(key.getString("status")),
+                        key.getString("category") == null ? null : IssueCategory.valueOf(key.getString("category")),
+                        key.getString("assignedTo"));
+            } catch (IllegalArgumentException e) {
+                log.warn("IssueStatsReconciler: skipping unknown status/category {}", key.toJson());
+                continue;
+            }
+            facets.put(f.key(), f);
+            expected.merge(f.key(), ((Number) d.get("count")).longValue(), Long::sum);
+        }
+
+        long fixed = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, IssueStatsCell.class);
+        for (IssueStatsCell c : cells) {
+            Long want = expected.remove(c.getId());
+            if (want != null && want == c.getCount()) continue;
+            // only overwrite if no live $inc landed since the read above
+            Query q = new Query(Criteria.where("id").is(c.getId()).and("count").is(c.getCount()));
+            if (want == null) bulk.remove(q);
+            else bulk.updateOne(q, new Update().set("count", want));
+            fixed++;
+        }
+        for (Map.Entry<String, Long> missing : expected.entrySet()) {
+            IssueStatsService.Facet f = facets.get(missing.getKey());
+            bulk.upsert(IssueStatsService.byKey(f), new Update()
+                    .setOnInsert("status", f.status())
+                    .setOnInsert("category", f.category())
+                    .setOnInsert("assignedTo", f.assignedTo())
+                    .setOnInsert("count", missing.getValue()));
+            fixed++;
+        }
+        if (fixed > 0) bulk.execute();
+        return fixed;
+    }
+}
@@ -0,0 +1,99 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.dto.IssueStatsDto;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.IssueCategory;
+import com.nagrikHelp.model.IssueStatsCell;
+import com.nagrikHelp.model.IssueStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Dashboard counts per status x category x assignee, kept in the small {@code issue_stats}
+ * collection. Every write that changes one of the three fields moves the issue's contribution
+ * with $inc, so reading the counts touches one document per combination in use, never the
+ * issues themselves.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IssueStatsService {
+
+    static final String NONE = "NONE";
+
+    private final MongoTemplate mongoTemplate;
+
+    /** The fields an issue is counted under. */
+    public record Facet(IssueStatus status, IssueCategory category, String assignedTo) {
+        public static Facet of(Issue i) {
+            return new Facet(i.getStatus(), i.getCategory(), i.getAssignedTo());
+        }
+
+        String key() {
+            // status and category never contain '|', so the remainder is unambiguously the assignee
+            return name(status) + "|" + name(category) + "|" + (assignedTo == null ? "" : assignedTo);
+        }
+    }
+
+    public void add(Issue issue) {
+        move(null, Facet.of(issue));
+    }
+
+    public void remove(Issue issue) {
+        move(Facet.of(issue), null);
+    }
+
+    /** Moves one issue's contribution from {@code before} to {@code after}; either may be null. */
+    public void move(Facet before, Facet after) {
+        if (Objects.equals(before, after)) return;
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, IssueStatsCell.class);
+            if (before != null) bulk.upsert(byKey(before), inc(before, -1));
+            if (after != null) bulk.upsert(byKey(after), inc(after, 1));
+            bulk.execute();
+        } catch (Exception e) {
+            // Counts drift until the next reconciliation; never fail the issue write over it
+            log.warn("IssueStatsService: count update failed: {}", e.getMessage());
+        }
+    }
+
+    public IssueStatsDto stats() {
+        Map<String, Long> byStatus = new TreeMap<>(), byCategory = new TreeMap<>(), byAssignee = new TreeMap<>();
+        List<IssueStatsDto.Cell> cells = new ArrayList<>();
+        long total = 0;
+        for (IssueStatsCell c : mongoTemplate.find(new Query(Criteria.where("count").gt(0)), IssueStatsCell.class)) {
+            String status = name(c.getStatus()), category = name(c.getCategory());
+            String assignee = c.getAssignedTo() == null ? NONE : c.getAssignedTo();
+            total += c.getCount();
+            byStatus.merge(status, c.getCount(), Long::sum);
+            byCategory.merge(category, c.getCount(), Long::sum);
+            byAssignee.merge(assignee, c.getCount(), Long::sum);
+            cells.add(new IssueStatsDto.Cell(status, category, assignee, c.getCount()));
+        }
+        return new IssueStatsDto(total, byStatus, byCategory, byAssignee, cells);
+    }
+
+    static Query byKey(Facet f) {
+        return new Query(Criteria.where("id").is(f.key()));
+    }
+
+    private static Update inc(Facet f, int delta) {
+        return new Update()
+                .setOnInsert("status", f.status())
+                .setOnInsert("category", f.category())
+                .setOnInsert("assignedTo", f.assignedTo())
+                .inc("count", delta);
+    }
+
+    private static String name(Enum<?> e) {
+        return e == null ? NONE : e.name();
+    }
+}
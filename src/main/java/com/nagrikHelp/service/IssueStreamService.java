@@ -2,67 +2,72 @@ package com.nagrikHelp.service;
 
 import com.nagrikHelp.dto.CommentResponseDto;
 import com.nagrikHelp.dto.IssueVoteSummaryDto;
-import org.springframework.http.MediaType;
+import com.nagrikHelp.util.Json;
+import com.nagrikHelp.util.SseFrame;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 @Service
 public class IssueStreamService {
 
-    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
     private static final long TIMEOUT = 30 * 60 * 1000L; // 30 min
 
-    public SseEmitter addEmitter(String issueId) {
-        SseEmitter emitter = new SseEmitter(TIMEOUT);
-        emitters.computeIfAbsent(issueId, k -> new CopyOnWriteArrayList<>()).add(emitter);
-        emitter.onCompletion(() -> removeEmitter(issueId, emitter));
-        emitter.onTimeout(() -> removeEmitter(issueId, emitter));
-        emitter.onError(e -> removeEmitter(issueId, emitter));
-        // send initial ping
-        try {
-            emitter.send(SseEmitter.event().name("ping").data("ok").reconnectTime(3000));
-        } catch (IOException ignored) {}
-        return emitter;
+    private final SseFanout fanout;
+
+    public IssueStreamService(@Value("${app.sse.threads:2}") int threads,
+                              @Value("${app.sse.max-threads:32}") int maxThreads,
+                              @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+                              @Value("${app.sse.overflow:coalesce}") String overflow,
+                              @Value("${app.sse.stall-ms:60000}") long stallMs) {
+        this.fanout = new SseFanout("issues", threads, maxThreads, queueCapacity, SseFanout.Overflow.parse(overflow), stallMs);
     }
 
-    private void removeEmitter(String issueId, SseEmitter emitter) {
-        List<SseEmitter> list = emitters.get(issueId);
-        if (list != null) list.remove(emitter);
+    public SseEmitter addEmitter(String issueId) {
+        return fanout.subscribe(issueId, TIMEOUT, 3000);
     }
 
+    // Keyed by issue: a subscriber that falls behind only needs the latest tallies
     public void broadcastVote(IssueVoteSummaryDto summary) {
-        broadcast(summary.getIssueId(), "vote", String.format("{\"issueId\":\"%s\",\"upVotes\":%d,\"downVotes\":%d}", summary.getIssueId(), summary.getUpVotes(), summary.getDownVotes()));
+        if (!fanout.hasSubscribers(summary.getIssueId())) return;
+        StringBuilder sb = new StringBuilder(96).append("{\"issueId\":");
+        Json.string(sb, summary.getIssueId())
+                .append(",\"upVotes\":").append(summary.getUpVotes())
+                .append(",\"downVotes\":").append(summary.getDownVotes())
+                .append('}');
+        fanout.publish(summary.getIssueId(), new SseFanout.Event(SseFrame.of("vote", sb.toString()), "vote"));
     }
 
+    // Encoded once per comment, then the same bytes go to every subscriber
     public void broadcastComment(String issueId, long commentsCount, CommentResponseDto comment) {
-        String payload = String.format("{\"issueId\":\"%s\",\"commentsCount\":%d,\"comment\":{\"id\":\"%s\",\"userName\":\"%s\",\"text\":%s,\"createdAt\":%d}}",
-                issueId,
-                commentsCount,
-                comment.getId(),
-                escape(comment.getUserName()),
-                jsonString(comment.getText()),
-                comment.getCreatedAt());
-        broadcast(issueId, "comment", payload);
+        if (!fanout.hasSubscribers(issueId)) return;
+        StringBuilder sb = new StringBuilder(192).append("{\"issueId\":");
+        Json.string(sb, issueId).append(",\"commentsCount\":").append(commentsCount).append(",\"comment\":{\"id\":");
+        Json.string(sb, comment.getId()).append(",\"userName\":");
+        Json.string(sb, nonNull(comment.getUserName())).append(",\"text\":");
+        Json.string(sb, nonNull(comment.getText())).append(",\"createdAt\":").append(comment.getCreatedAt()).append("}}");
+        fanout.publish(issueId, new SseFanout.Event(SseFrame.of("comment", comment.getId(), sb.toString(), -1), null));
+    }
+
+    /** Heartbeat then reap; called by {@link SseHeartbeatScheduler}. */
+    public void maintain() {
+        fanout.heartbeat();
+        fanout.reap();
+    }
+
+    public Map<String, Object> stats() {
+        return fanout.stats();
     }
 
-    private void broadcast(String issueId, String eventName, String json) {
-        List<SseEmitter> list = emitters.get(issueId);
-        if (list == null || list.isEmpty()) return;
-        for (SseEmitter emitter : list) {
-            try {
-                emitter.send(SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON));
-            } catch (IOException e) {
-                removeEmitter(issueId, emitter);
-            }
-        }
+    @PreDestroy
+    public void shutdown() {
+        fanout.shutdown();
     }
 
-    private String escape(String v) { return v == null ? "" : v.replace("\\", "\\\\").replace("\"", "\\\""); }
-    private String jsonString(String v) { return v == null ? "\"\"" : "\"" + escape(v) + "\""; }
+    private static String nonNull(String v) {
+        return v == null ? "" : v;
+    }
 }
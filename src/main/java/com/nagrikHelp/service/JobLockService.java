@@ -0,0 +1,42 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.model.JobLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/** Single-runner guard for maintenance jobs across instances, backed by {@link JobLock} documents. */
+@Service
+@RequiredArgsConstructor
+public class JobLockService {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Takes the lease on {@code job} unless another holder's lease is still running.
+     * @return the token to pass to {@link #release}, empty if someone else holds it
+     */
+    public Optional<String> tryAcquire(String job, long leaseMs) {
+        String token = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        // Matches only a free or expired lease; a live one makes the upsert insert a duplicate _id
+        Query q = new Query(Criteria.where("id").is(job).and("lockedUntil").lt(now));
+        try {
+            mongoTemplate.upsert(q, new Update().set("owner", token).set("lockedUntil", now + leaseMs), JobLock.class);
+            return Optional.of(token);
+        } catch (DuplicateKeyException held) {
+            return Optional.empty();
+        }
+    }
+
+    public void release(String job, String token) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(job).and("owner").is(token)), JobLock.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.util.ImageTypes;
+import com.nagrikHelp.util.MediaHashes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.util.Optional;
+
+/**
+ * Filesystem backend: {@code <root>/ab/cd/<sha256>}. Writes go to a temp file in the target
+ * directory and are atomically renamed, so readers never observe a partial blob.
+ */
+@Component
+@ConditionalOnProperty(name = "app.media.store", havingValue = "local")
+public class LocalFsMediaStore implements MediaStore {
+
+    private final Path root;
+
+    public LocalFsMediaStore(@Value("${app.media.local.root:data/media}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String put(byte[] bytes, String contentType) {
+        String hash = MediaHashes.sha256(bytes);
+        Path target = pathFor(hash);
+        if (Files.exists(target)) return hash;
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(tmp, bytes);
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (FileAlreadyExistsException ignored) {
+            // identical content stored concurrently
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store media " + hash, e);
+        }
+        return hash;
+    }
+
+    @Override
+    public Optional<MediaBlob> open(String hash) {
+        if (!MediaHashes.isValid(hash)) return Optional.empty();
+        Path p = pathFor(hash);
+        if (!Files.isRegularFile(p)) return Optional.empty();
+        try {
+            byte[] head = new byte[16];
+            int n;
+            try (InputStream in = Files.newInputStream(p)) { n = in.readNBytes(head, 0, head.length); }
+            byte[] magic = n == head.length ? head : java.util.Arrays.copyOf(head, n);
+            return Optional.of(new FileBlob(hash, ImageTypes.sniffOrDefault(magic), Files.size(p), p));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open media " + hash, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return MediaHashes.isValid(hash) && Files.isRegularFile(pathFor(hash));
+    }
+
+    Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private record FileBlob(String hash, String contentType, long length, Path path) implements MediaBlob {
+        @Override
+        public InputStream openStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public Optional<Path> localPath() {
+            return Optional.of(path);
+        }
+
+        // FileChannel.transferTo lets the kernel move the bytes without copying through the heap
+        @Override
+        public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+                long pos = position, remaining = count;
+                while (remaining > 0) {
+                    long n = ch.transferTo(pos, remaining, target);
+                    if (n <= 0) break;
+                    pos += n;
+                    remaining -= n;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.nagrikHelp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/** Handle to a stored blob; content is only read when a stream is opened. */
+public interface MediaBlob {
+    String hash();
+    String contentType();
+    long length();
+    InputStream openStream() throws IOException;
+
+    /** Backing file when the blob lives on local disk (enables container sendfile). */
+    default Optional<Path> localPath() {
+        return Optional.empty();
+    }
+
+    /**
+     * Copies {@code count} bytes starting at {@code position} to the target. The default skips on
+     * the stream (GridFS seeks to the right chunk) and copies through one reusable buffer.
+     */
+    default void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        try (InputStream in = openStream()) {
+            in.skipNBytes(position);
+            byte[] buf = new byte[(int) Math.min(64 * 1024, Math.max(count, 1))];
+            ByteBuffer bb = ByteBuffer.wrap(buf);
+            long remaining = count;
+            while (remaining > 0) {
+                int n = in.read(buf, 0, (int) Math.min(buf.length, remaining));
+                if (n < 0) break;
+                bb.clear().limit(n);
+                while (bb.hasRemaining()) target.write(bb);
+                remaining -= n;
+            }
+        }
+    }
+
+    default byte[] readAllBytes() throws IOException {
+        try (InputStream in = openStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
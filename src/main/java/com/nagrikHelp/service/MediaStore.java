@@ -0,0 +1,18 @@
+package com.nagrikHelp.service;
+
+import java.util.Optional;
+
+/**
+ * Content-addressed blob storage for issue photos. Keys are the lowercase hex SHA-256 of the
+ * bytes, so storing the same upload twice is a no-op. Select a backend with
+ * {@code app.media.store=gridfs|local} (default gridfs).
+ */
+public interface MediaStore {
+
+    /** Stores the bytes if not already present and returns their SHA-256 key. */
+    String put(byte[] bytes, String contentType);
+
+    Optional<MediaBlob> open(String hash);
+
+    boolean exists(String hash);
+}
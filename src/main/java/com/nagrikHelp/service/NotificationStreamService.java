@@ -1,63 +1,67 @@
 package com.nagrikHelp.service;
 
 import com.nagrikHelp.model.UserNotification;
-import org.springframework.http.MediaType;
+import com.nagrikHelp.util.Json;
+import com.nagrikHelp.util.SseFrame;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 @Service
 public class NotificationStreamService {
 
     private static final long TIMEOUT = 30 * 60 * 1000L; // 30 min
-    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>(); // key = userEmail
+    private final SseFanout fanout; // topic = userEmail
 
-    public SseEmitter addEmitter(String userEmail) {
-        SseEmitter emitter = new SseEmitter(TIMEOUT);
-        emitters.computeIfAbsent(userEmail, k -> new CopyOnWriteArrayList<>()).add(emitter);
-        emitter.onCompletion(() -> remove(userEmail, emitter));
-        emitter.onTimeout(() -> remove(userEmail, emitter));
-        emitter.onError(e -> remove(userEmail, emitter));
-        try {
-            emitter.send(SseEmitter.event().name("ping").data("ok").reconnectTime(5000));
-        } catch (IOException ignored) {}
-        return emitter;
+    public NotificationStreamService(@Value("${app.sse.threads:2}") int threads,
+                                     @Value("${app.sse.max-threads:32}") int maxThreads,
+                                     @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+                                     @Value("${app.sse.overflow:coalesce}") String overflow,
+                                     @Value("${app.sse.stall-ms:60000}") long stallMs) {
+        this.fanout = new SseFanout("notifications", threads, maxThreads, queueCapacity, SseFanout.Overflow.parse(overflow), stallMs);
     }
 
-    private void remove(String userEmail, SseEmitter emitter) {
-        List<SseEmitter> list = emitters.get(userEmail);
-        if (list != null) list.remove(emitter);
+    public SseEmitter addEmitter(String userEmail) {
+        return fanout.subscribe(userEmail, TIMEOUT, 5000);
     }
 
+    // Unkeyed: every notification is distinct, so COALESCE degrades to dropping the oldest
     public void broadcast(UserNotification n) {
-        if (n == null || n.getUserEmail() == null) return;
-        List<SseEmitter> list = emitters.get(n.getUserEmail());
-        if (list == null || list.isEmpty()) return;
-        String json = toJson(n);
-        for (SseEmitter emitter : list) {
-            try {
-                emitter.send(SseEmitter.event().name("notification").data(json, MediaType.APPLICATION_JSON));
-            } catch (IOException e) {
-                remove(n.getUserEmail(), emitter);
-            }
-        }
-    }
-
-    private String esc(String v) { return v == null ? "" : v.replace("\\", "\\\\").replace("\"", "\\\""); }
+        if (n == null || n.getUserEmail() == null || !fanout.hasSubscribers(n.getUserEmail())) return;
+        fanout.publish(n.getUserEmail(), new SseFanout.Event(SseFrame.of("notification", n.getId(), toJson(n), -1), null));
+    }
+
+    /** Heartbeat then reap; called by {@link SseHeartbeatScheduler}. */
+    public void maintain() {
+        fanout.heartbeat();
+        fanout.reap();
+    }
+
+    public Map<String, Object> stats() {
+        return fanout.stats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanout.shutdown();
+    }
+
     private String toJson(UserNotification n) {
-        return new StringBuilder(160)
-                .append('{')
-                .append("\"id\":\"").append(esc(n.getId())).append('\"')
-                .append(",\"issueId\":").append(n.getIssueId()==null?"null":"\""+esc(n.getIssueId())+"\"")
-                .append(",\"type\":\"").append(esc(n.getType())).append('\"')
-                .append(",\"message\":\"").append(esc(n.getMessage())).append('\"')
+        StringBuilder sb = new StringBuilder(160).append("{\"id\":");
+        Json.string(sb, nonNull(n.getId())).append(",\"issueId\":");
+        Json.string(sb, n.getIssueId()).append(",\"type\":");
+        Json.string(sb, nonNull(n.getType())).append(",\"message\":");
+        Json.string(sb, nonNull(n.getMessage()))
                 .append(",\"createdAt\":").append(n.getCreatedAt())
                 .append(",\"read\":").append(n.isRead())
-                .append('}').toString();
+                .append('}');
+        return sb.toString();
+    }
+
+    private static String nonNull(String v) {
+        return v == null ? "" : v;
     }
 }
@@ -0,0 +1,364 @@
+package com.nagrikHelp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import com.nagrikHelp.util.SseFrame;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous SSE delivery for one kind of stream (issue updates, user notifications).
+ * {@link #publish} only appends to each subscriber's bounded queue and returns; a small pool of
+ * daemon threads drains the queues, at most one drain per subscriber at a time. A send that does
+ * not return within {@value #SLOW_SEND_MS} ms pins its thread (the servlet write has no timeout
+ * of its own), so a watchdog adds a pool thread for each such writer, up to {@code maxThreads}:
+ * a few dead peers cost threads, not delivery to everyone else. When a queue is full the {@link Overflow} policy
+ * decides what gives: drop the oldest event, coalesce (keyed events such as vote counts replace
+ * the queued event with the same key, otherwise drop oldest), or disconnect the subscriber so it
+ * reconnects and resyncs. Events arrive as pre-encoded {@link SseFrame}s, so every subscriber
+ * is written the same bytes.
+ * <p>
+ * {@link #heartbeat()} keeps idle connections provably alive and {@link #reap()} evicts
+ * subscribers whose writes failed or whose current write has been blocked for {@code stallMs}:
+ * SSE has no client acknowledgement, so a send that never returns (peer gone behind NAT, socket
+ * buffer full) is the only sign of a dead connection short of the emitter timeout. A queue that
+ * is merely waiting for a busy pool thread is not. Evicting only marks the subscriber; its emitter
+ * is completed on a fan-out thread, because {@code complete()} waits for any send in flight.
+ */
+@Slf4j
+public class SseFanout {
+
+    public enum Overflow {
+        DROP_OLDEST, COALESCE, DISCONNECT;
+
+        public static Overflow parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid SSE overflow policy: " + value);
+            }
+        }
+    }
+
+    /** One event; {@code key} identifies events a newer one may replace under COALESCE (null = never). */
+    public record Event(SseFrame frame, String key) {}
+
+    private static final int DRAIN_BATCH = 16; // events per turn before yielding the thread to other subscribers
+    private static final Event HEARTBEAT = new Event(SseFrame.comment("hb"), null);
+    static final long SLOW_SEND_MS = 1000;
+
+    private final String name;
+    private final int capacity;
+    private final long stallMs;
+    private final Overflow overflow;
+    private final int threads;
+    private final int maxThreads;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService watchdog;
+    private final Map<String, List<Subscriber>> topics = new ConcurrentHashMap<>();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder deliveredBytes = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+    private final LongAdder reaped = new LongAdder();
+
+    public SseFanout(String name, int threads, int maxThreads, int capacity, Overflow overflow, long stallMs) {
+        if (capacity < 1) throw new IllegalArgumentException("SSE queue capacity must be positive");
+        if (threads < 1 || maxThreads < threads) throw new IllegalArgumentException("SSE threads must be 1..maxThreads");
+        this.name = name;
+        this.capacity = capacity;
+        this.stallMs = stallMs;
+        this.overflow = overflow;
+        this.threads = threads;
+        this.maxThreads = maxThreads;
+        AtomicInteger seq = new AtomicInteger();
+        // One task per subscriber with pending events at most, so the work queue is bounded by subscribers.
+        // Threads above the core size only exist while the watchdog counts blocked writers.
+        this.executor = new ThreadPoolExecutor(threads, maxThreads, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "sse-" + name + "-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sse-" + name + "-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        watchdog.scheduleWithFixedDelay(this::rebalance, SLOW_SEND_MS, SLOW_SEND_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(String topic, long timeoutMs, long reconnectMs) {
+        return subscribe(topic, new SseEmitter(timeoutMs), reconnectMs);
+    }
+
+    // Package-private so tests can hand in an emitter whose writes they control
+    SseEmitter subscribe(String topic, SseEmitter emitter, long reconnectMs) {
+        Subscriber s = new Subscriber(topic, emitter);
+        // Under the map lock, so a concurrent remove cannot drop the list we are adding to
+        topics.compute(topic, (k, list) -> {
+            List<Subscriber> l = list != null ? list : new CopyOnWriteArrayList<>();
+            l.add(s);
+            return l;
+        });
+        emitter.onCompletion(() -> remove(s));
+        emitter.onTimeout(() -> remove(s));
+        emitter.onError(e -> remove(s));
+        s.offer(new Event(SseFrame.of("ping", null, "ok", reconnectMs), null));
+        return emitter;
+    }
+
+    /** Lets publishers skip building a frame nobody would receive. */
+    public boolean hasSubscribers(String topic) {
+        List<Subscriber> list = topics.get(topic);
+        return list != null && !list.isEmpty();
+    }
+
+    /** Queues the event for every subscriber of the topic; never blocks on the network. */
+    public void publish(String topic, Event event) {
+        List<Subscriber> list = topics.get(topic);
+        if (list == null || list.isEmpty()) return;
+        published.increment();
+        for (Subscriber s : list) s.offer(event);
+    }
+
+    /** Queues a comment frame for every idle subscriber; ones with events pending get traffic anyway. */
+    public int heartbeat() {
+        int sent = 0;
+        for (List<Subscriber> list : topics.values()) {
+            for (Subscriber s : list) {
+                if (s.offerIfIdle(HEARTBEAT)) sent++;
+            }
+        }
+        return sent;
+    }
+
+    /** Evicts stalled or already-closed subscribers and drops topics left without any. */
+    public int reap() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Map.Entry<String, List<Subscriber>> e : topics.entrySet()) {
+            for (Subscriber s : e.getValue()) {
+                if (s.closed) {
+                    remove(s);
+                } else if (s.stalled(now)) {
+                    log.debug("SseFanout[{}]: evicting stalled subscriber on {}", name, s.topic);
+                    reaped.increment();
+                    s.disconnect(); // never blocks the caller
+                    evicted++;
+                }
+            }
+            topics.computeIfPresent(e.getKey(), (k, list) -> list.isEmpty() ? null : list);
+        }
+        return evicted;
+    }
+
+    /** Sizes the pool to {@code threads} plus one per writer blocked longer than {@link #SLOW_SEND_MS}. */
+    int rebalance() {
+        long now = System.currentTimeMillis();
+        int blocked = 0;
+        for (List<Subscriber> list : topics.values()) {
+            for (Subscriber s : list) {
+                long since = s.sendingSince;
+                if (since != 0 && now - since > SLOW_SEND_MS) blocked++;
+            }
+        }
+        int size = Math.min(maxThreads, threads + blocked);
+        if (executor.getCorePoolSize() != size) {
+            if (size > threads) log.debug("SseFanout[{}]: {} blocked writers, pool at {}", name, blocked, size);
+            executor.setCorePoolSize(size); // extra threads start at once if drains are queued
+        }
+        return blocked;
+    }
+
+    /** Completes every subscriber (clients reconnect elsewhere) and stops the threads. */
+    public void shutdown() {
+        watchdog.shutdownNow();
+        for (List<Subscriber> list : topics.values()) {
+            for (Subscriber s : list) s.disconnect();
+        }
+        executor.shutdown();
+        try {
+            // Writers blocked on dead peers never finish; the threads are daemons, so do not wait for them
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long subscribers = 0;
+        long queued = 0;
+        int deepest = 0;
+        for (List<Subscriber> list : topics.values()) {
+            for (Subscriber s : list) {
+                int depth = s.depth();
+                subscribers++;
+                queued += depth;
+                deepest = Math.max(deepest, depth);
+            }
+        }
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("overflow", overflow.name());
+        m.put("queueCapacity", capacity);
+        m.put("topics", topics.size());
+        m.put("subscribers", subscribers);
+        m.put("queuedEvents", queued);
+        m.put("maxQueueDepth", deepest);
+        m.put("published", published.sum());
+        m.put("delivered", delivered.sum());
+        m.put("deliveredBytes", deliveredBytes.sum());
+        m.put("dropped", dropped.sum());
+        m.put("coalesced", coalesced.sum());
+        m.put("disconnected", disconnected.sum());
+        m.put("reaped", reaped.sum());
+        m.put("activeSenders", executor.getActiveCount());
+        m.put("poolSize", executor.getCorePoolSize());
+        return m;
+    }
+
+    private void remove(Subscriber s) {
+        s.closed = true;
+        topics.computeIfPresent(s.topic, (k, list) -> {
+            list.remove(s);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private final class Subscriber {
+        final String topic;
+        final SseEmitter emitter;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        volatile boolean closed;
+        private volatile long sendingSince; // 0 when no write is in flight
+
+        Subscriber(String topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        void offer(Event e) {
+            if (closed) return;
+            boolean overflowed = false;
+            synchronized (this) {
+                if (overflow == Overflow.COALESCE && e.key() != null && replace(e)) {
+                    coalesced.increment();
+                } else if (queue.size() < capacity) {
+                    queue.addLast(e);
+                } else if (overflow == Overflow.DISCONNECT) {
+                    overflowed = true;
+                } else {
+                    queue.pollFirst();
+                    queue.addLast(e);
+                    dropped.increment();
+                }
+            }
+            if (overflowed) {
+                disconnect();
+                return;
+            }
+            schedule();
+        }
+
+        // The stale queued value goes; the newest joins the back so it stays ordered after earlier events
+        private boolean replace(Event e) {
+            for (Iterator<Event> it = queue.iterator(); it.hasNext(); ) {
+                if (e.key().equals(it.next().key())) {
+                    it.remove();
+                    queue.addLast(e);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean offerIfIdle(Event e) {
+            synchronized (this) {
+                if (closed || !queue.isEmpty()) return false;
+                queue.addLast(e);
+            }
+            schedule();
+            return true;
+        }
+
+        // Only a write that has not returned says anything about the peer
+        boolean stalled(long now) {
+            long since = sendingSince;
+            return since != 0 && now - since > stallMs;
+        }
+
+        synchronized int depth() {
+            return queue.size();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                for (int i = 0; i < DRAIN_BATCH && !closed; i++) {
+                    Event e;
+                    synchronized (this) {
+                        e = queue.pollFirst();
+                    }
+                    if (e == null) break;
+                    sendingSince = System.currentTimeMillis();
+                    emitter.send(e.frame().payload());
+                    sendingSince = 0;
+                    deliveredBytes.add(e.frame().size());
+                    delivered.increment();
+                }
+            } catch (Exception ex) {
+                // Peer is gone; the container's error callback may never fire for a half-open socket
+                log.debug("SseFanout[{}]: send to {} failed: {}", name, topic, ex.getMessage());
+                disconnect();
+            } finally {
+                sendingSince = 0;
+                draining.set(false);
+            }
+            if (closed) {
+                complete();
+                return;
+            }
+            boolean more;
+            synchronized (this) {
+                more = !queue.isEmpty();
+            }
+            if (more && !closed) schedule();
+        }
+
+        /** Marks the subscriber gone; a fan-out thread completes the emitter once no send is in flight. */
+        void disconnect() {
+            if (closed) return;
+            disconnected.increment();
+            remove(this);
+            synchronized (this) {
+                queue.clear();
+            }
+            schedule();
+        }
+
+        private void complete() {
+            if (!completed.compareAndSet(false, true)) return;
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {}
+        }
+    }
+}
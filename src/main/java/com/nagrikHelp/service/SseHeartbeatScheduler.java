@@ -0,0 +1,32 @@
+package com.nagrikHelp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Every {@code app.sse.heartbeat-ms} queues a comment frame to each idle SSE subscriber and evicts
+ * subscribers that stopped taking writes (see {@link SseFanout#reap()}), for both the issue and
+ * the notification streams. Dead clients behind NAT are gone within heartbeat + stall time
+ * instead of lingering until the 30-minute emitter timeout; intermediaries that close idle
+ * connections see regular traffic.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SseHeartbeatScheduler {
+
+    private final IssueStreamService issueStreamService;
+    private final NotificationStreamService notificationStreamService;
+
+    @Scheduled(initialDelayString = "${app.sse.heartbeat-ms:20000}", fixedDelayString = "${app.sse.heartbeat-ms:20000}")
+    public void beat() {
+        try {
+            issueStreamService.maintain();
+            notificationStreamService.maintain();
+        } catch (Exception e) {
+            log.warn("SseHeartbeatScheduler: heartbeat failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.nagrikHelp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nagrikHelp.model.ChangeVersion;
+import com.nagrikHelp.model.Vote;
+import com.nagrikHelp.model.VoteValue;
+import com.nagrikHelp.util.SortedVotes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * In-memory copy of each active user's votes, so "my vote" for a whole feed page is a few binary
+ * searches instead of a query. A user's set is loaded from issue_votes (the {userId} index) on
+ * first use and kept in a Caffeine cache bounded by total votes held, evicting the least
+ * recently used users.
+ * <p>
+ * Each user has a vote version in change_versions that every instance $incs after writing one of
+ * their vote rows ({@link #record}); a cached set remembers the version it was loaded at and is
+ * reloaded when the shared one has moved, so a vote cast on another node shows up on the next
+ * read. The writing node patches its own copy instead when nothing else happened in between.
+ * Reads therefore cost one _id lookup plus binary searches. Users with more than
+ * {@code app.votes.user-index.max-votes-per-user} votes are not indexed and fall back to a query.
+ */
+@Component
+@Slf4j
+public class UserVoteIndex {
+
+    // Marks a user whose votes are too many to hold; readers fall back to querying
+    private static final SortedVotes OVERSIZED = SortedVotes.EMPTY.with("", VoteValue.UP);
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxVotesPerUser;
+    private final Cache<String, Indexed> users;
+
+    private record Indexed(SortedVotes votes, long version) {}
+
+    public UserVoteIndex(MongoTemplate mongoTemplate,
+                         @Value("${app.votes.user-index.max-votes:2000000}") long maxVotes,
+                         @Value("${app.votes.user-index.max-votes-per-user:20000}") int maxVotesPerUser,
+                         @Value("${app.votes.user-index.ttl-seconds:300}") long ttlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxVotesPerUser = maxVotesPerUser;
+        this.users = Caffeine.newBuilder()
+                .maximumWeight(maxVotes)
+                .weigher((String user, Indexed v) -> 1 + v.votes().size())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /** The user's vote on each of {@code issueIds}; empty when this user is not indexed. */
+    public Optional<Map<String, String>> votes(String userId, Collection<String> issueIds) {
+        long version;
+        try {
+            version = version(userId);
+        } catch (Exception e) {
+            log.warn("UserVoteIndex: version read failed for {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+        Indexed cached = users.getIfPresent(userId);
+        if (cached == null || cached.version() != version) {
+            cached = users.asMap().compute(userId, (k, cur) -> cur != null && cur.version() == version ? cur : load(k));
+        }
+        if (cached == null || cached.votes() == OVERSIZED) return Optional.empty();
+        Map<String, String> out = new HashMap<>();
+        for (String id : issueIds) {
+            VoteValue value = cached.votes().get(id);
+            if (value != null) out.put(id, value.name());
+        }
+        return Optional.of(out);
+    }
+
+    /**
+     * Announces a persisted vote change to every instance; {@code value} null means the vote was
+     * withdrawn. Call after the vote row is written.
+     */
+    public void record(String userId, String issueId, VoteValue value) {
+        long version;
+        try {
+            ChangeVersion v = mongoTemplate.findAndModify(versionKey(userId), new Update().inc("version", 1),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), ChangeVersion.class);
+            version = v == null ? 0 : v.getVersion();
+        } catch (Exception e) {
+            log.warn("UserVoteIndex: version bump failed for {}: {}", userId, e.getMessage());
+            users.invalidate(userId);
+            return;
+        }
+        // Patch only a copy that saw every write but this one; anything else reloads on next read
+        users.asMap().computeIfPresent(userId, (k, cur) -> cur.version() != version - 1 ? null
+                : new Indexed(cur.votes() == OVERSIZED ? OVERSIZED : cur.votes().with(issueId, value), version));
+    }
+
+    /**
+     * Batch form of {@link #record} for many users' persisted votes: one bulk $inc, and the local
+     * copies are dropped rather than patched.
+     */
+    public void recordAll(Collection<String> userIds) {
+        if (userIds.isEmpty()) return;
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChangeVersion.class);
+            for (String userId : userIds) bulk.upsert(versionKey(userId), new Update().inc("version", 1));
+            bulk.execute();
+        } catch (Exception e) {
+            log.warn("UserVoteIndex: version bump failed for {} users: {}", userIds.size(), e.getMessage());
+        }
+        users.invalidateAll(userIds);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("users", users.estimatedSize());
+        m.put("hitRate", users.stats().hitRate());
+        m.put("loads", users.stats().loadCount());
+        m.put("evictions", users.stats().evictionCount());
+        return m;
+    }
+
+    private Indexed load(String userId) {
+        try {
+            // Version first: a write landing after this read moves it, so at worst we reload once more
+            long version = version(userId);
+            Query q = new Query(Criteria.where("userId").is(userId));
+            q.fields().include("issueId").include("value");
+            q.limit(maxVotesPerUser + 1);
+            List<Vote> rows = mongoTemplate.find(q, Vote.class);
+            if (rows.size() > maxVotesPerUser) return new Indexed(OVERSIZED, version);
+            Map<String, VoteValue> votes = new HashMap<>(rows.size() * 2);
+            for (Vote row : rows) votes.put(row.getIssueId(), row.getValue());
+            return new Indexed(SortedVotes.of(votes), version);
+        } catch (Exception e) {
+            // Not cached; the caller queries the page's votes directly
+            log.warn("UserVoteIndex: load failed for {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private long version(String userId) {
+        ChangeVersion v = mongoTemplate.findById(versionId(userId), ChangeVersion.class);
+        return v == null ? 0 : v.getVersion();
+    }
+
+    private static Query versionKey(String userId) {
+        return new Query(Criteria.where("id").is(versionId(userId)));
+    }
+
+    private static String versionId(String userId) {
+        return "votes:" + userId;
+    }
+}
@@ -0,0 +1,313 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.dto.IssueVoteSummaryDto;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.Vote;
+import com.nagrikHelp.model.VoteValue;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Optional write-behind mode for votes ({@code app.votes.write-behind.enabled}). A vote only
+ * updates memory: the caller's latest value per (issue, user) and per-issue LongAdder deltas.
+ * Every {@code app.votes.write-behind.flush-ms} the vote rows go to issue_votes in one unordered
+ * bulk write, each issue's counters get a single $inc, and one SSE update per issue goes out, so
+ * a vote storm on one issue costs a few writes per flush instead of several per vote. Flushes run
+ * on a dedicated thread, so the shared {@code @Scheduled} jobs (reconcilers, heartbeats) cannot
+ * hold them back.
+ * <p>
+ * A voter always sees their own vote (VoteService and the feed enricher overlay the buffer);
+ * other readers see counts up to one flush late. Pending votes are flushed on shutdown; a crash
+ * loses what was buffered since the last flush, which the counter reconciler cannot recover.
+ */
+@Service
+@Slf4j
+public class VoteBuffer {
+
+    private static final int SHUTDOWN_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueStreamService issueStreamService;
+    private final NotificationService notificationService;
+    private final IssueChangeTracker changeTracker;
+    private final IssueDetailCache detailCache;
+    private final HotScoreService hotScoreService;
+    private final UserVoteIndex userVoteIndex;
+    private final boolean enabled;
+
+    private final ConcurrentHashMap<VoteKey, Pending> votes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Tally> tallies = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong flushedGeneration = new AtomicLong(); // bumped once per batch of rows written
+    private final ScheduledExecutorService flusher;
+
+    record VoteKey(String issueId, String userId) {}
+
+    /** Latest value for a (issue, user); null means withdrawn. Replaced, never mutated, on each cast. */
+    public record Pending(VoteValue value, long at) {}
+
+    /**
+     * Persisted counters as last seen, and how much of the tally they already include. Replaced
+     * as a whole, so readers never pair a new count with an old applied total.
+     */
+    private record Base(long up, long down, long appliedUp, long appliedDown) {}
+
+    /**
+     * Every delta cast on an issue since the tally was created. The adders are never reset: a
+     * flush $incs what is not yet in {@link Base} and only then moves the base, so a delta on its
+     * way to Mongo still counts in what voters see.
+     */
+    private static final class Tally {
+        final LongAdder up = new LongAdder();
+        final LongAdder down = new LongAdder();
+        final AtomicReference<Base> base = new AtomicReference<>(); // null until loaded or flushed
+        volatile String lastVoter;
+
+        long[] unapplied() {
+            Base b = base.get();
+            return b == null ? new long[]{up.sum(), down.sum()}
+                    : new long[]{up.sum() - b.appliedUp(), down.sum() - b.appliedDown()};
+        }
+
+        boolean idle() {
+            long[] u = unapplied();
+            return u[0] == 0 && u[1] == 0;
+        }
+    }
+
+    public VoteBuffer(MongoTemplate mongoTemplate,
+                      IssueStreamService issueStreamService,
+                      NotificationService notificationService,
+                      IssueChangeTracker changeTracker,
+                      IssueDetailCache detailCache,
+                      HotScoreService hotScoreService,
+                      UserVoteIndex userVoteIndex,
+                      @Value("${app.votes.write-behind.enabled:false}") boolean enabled,
+                      @Value("${app.votes.write-behind.flush-ms:250}") long flushMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.issueStreamService = issueStreamService;
+        this.notificationService = notificationService;
+        this.changeTracker = changeTracker;
+        this.detailCache = detailCache;
+        this.hotScoreService = hotScoreService;
+        this.userVoteIndex = userVoteIndex;
+        this.enabled = enabled;
+        if (!enabled) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vote-buffer-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMs, flushMs, TimeUnit.MILLISECONDS);
+        log.info("VoteBuffer: write-behind voting enabled, flushing every {} ms", flushMs);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /** Same toggle/switch semantics as VoteService.castVote, applied in memory. */
+    public IssueVoteSummaryDto castVote(String issueId, String userId, VoteValue value) {
+        VoteKey key = new VoteKey(issueId, userId);
+        VoteValue[] previous = new VoteValue[1];
+        Pending now;
+        do {
+            // Load the stored vote outside the map lock. If a flush wrote rows since, an entry queued
+            // and flushed in between may have changed it, so the compute backs out and we load again
+            long generation = flushedGeneration.get();
+            boolean loaded = !votes.containsKey(key);
+            VoteValue stored = loaded ? storedVote(key) : null;
+            now = votes.compute(key, (k, cur) -> {
+                if (cur == null && !(loaded && flushedGeneration.get() == generation)) return null;
+                VoteValue prev = cur != null ? cur.value() : stored;
+                previous[0] = prev;
+                return new Pending(prev == value ? null : value, System.currentTimeMillis());
+            });
+        } while (now == null);
+        VoteValue current = now.value();
+        Tally t = tallies.compute(issueId, (k, cur) -> {
+            Tally x = cur != null ? cur : new Tally();
+            if (previous[0] != current) {
+                adderFor(x, current, 1);
+                adderFor(x, previous[0], -1);
+            }
+            x.lastVoter = userId;
+            return x;
+        });
+        if (t.base.get() == null) loadBase(issueId, t);
+        Base b = t.base.get();
+        return new IssueVoteSummaryDto(issueId, b.up() + t.up.sum() - b.appliedUp(), b.down() + t.down.sum() - b.appliedDown(),
+                current == null ? null : current.name());
+    }
+
+    /** The caller's unflushed vote, if any; {@code Pending.value() == null} means withdrawn. */
+    public Optional<Pending> pending(String issueId, String userId) {
+        if (!enabled || userId == null) return Optional.empty();
+        return Optional.ofNullable(votes.get(new VoteKey(issueId, userId)));
+    }
+
+    /** Unflushed {up, down} deltas for an issue. */
+    public long[] pendingCounts(String issueId) {
+        Tally t = enabled ? tallies.get(issueId) : null;
+        return t == null ? new long[2] : t.unapplied();
+    }
+
+    /**
+     * Runs {@code fixes} with no flush in progress and tells it which issues still have buffered
+     * counter deltas. Between writing vote rows and applying their $inc a flush leaves rows and
+     * counters disagreeing, and deltas kept after a failed $inc are already in issue_votes; a
+     * reconciler that overwrote either would have the $inc count those votes twice.
+     */
+    public <T> T betweenFlushes(Function<Predicate<String>, T> fixes) {
+        if (!enabled) return fixes.apply(issueId -> false);
+        flushLock.lock();
+        try {
+            return fixes.apply(issueId -> {
+                Tally t = tallies.get(issueId);
+                return t != null && !t.idle();
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void flush() {
+        if (!enabled) return;
+        flushLock.lock();
+        try {
+            flushVotes();
+            flushCounters();
+        } catch (Exception e) {
+            // Entries stay buffered and are retried next round
+            log.warn("VoteBuffer: flush failed: {}", e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) return;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The web server stops taking requests before beans are destroyed, so nothing new arrives here
+        for (int i = 0; i < SHUTDOWN_ATTEMPTS && !(votes.isEmpty() && tallies.values().stream().allMatch(Tally::idle)); i++) {
+            flush();
+        }
+        if (!votes.isEmpty()) log.error("VoteBuffer: {} votes could not be flushed on shutdown", votes.size());
+    }
+
+    private void flushVotes() {
+        if (votes.isEmpty()) return;
+        List<Map.Entry<VoteKey, Pending>> batch = new ArrayList<>(votes.entrySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Vote.class);
+        for (Map.Entry<VoteKey, Pending> e : batch) {
+            Query q = voteKey(e.getKey());
+            Pending p = e.getValue();
+            if (p.value() == null) {
+                bulk.remove(q);
+            } else {
+                bulk.upsert(q, new Update()
+                        .set("value", p.value())
+                        .set("updatedAt", p.at())
+                        .setOnInsert("createdAt", p.at()));
+            }
+        }
+        bulk.execute();
+        flushedGeneration.incrementAndGet(); // before the removals, so a cast that then misses its entry reloads
+        // Keep entries that changed while we were writing; they go out next round
+        Set<String> voters = new HashSet<>();
+        for (Map.Entry<VoteKey, Pending> e : batch) {
+            voters.add(e.getKey().userId());
+            votes.remove(e.getKey(), e.getValue());
+        }
+        userVoteIndex.recordAll(voters);
+    }
+
+    private void flushCounters() {
+        boolean changed = false;
+        for (String issueId : new ArrayList<>(tallies.keySet())) {
+            Tally t = tallies.get(issueId);
+            if (t == null) continue;
+            Base was = t.base.get();
+            long totalUp = t.up.sum();
+            long totalDown = t.down.sum();
+            long up = totalUp - (was == null ? 0 : was.appliedUp());
+            long down = totalDown - (was == null ? 0 : was.appliedDown());
+            if (up == 0 && down == 0) {
+                tallies.computeIfPresent(issueId, (k, x) -> x.idle() ? null : x);
+                continue;
+            }
+            Query q = new Query(Criteria.where("id").is(issueId));
+            q.fields().include("title").include("createdBy").include("upVotes").include("downVotes");
+            // On failure the base stays put, so the same delta (plus anything newer) goes out next round
+            Issue after = mongoTemplate.findAndModify(q, new Update().inc("upVotes", up).inc("downVotes", down),
+                    FindAndModifyOptions.options().returnNew(true), Issue.class);
+            changed = true;
+            if (after == null) { // issue deleted meanwhile
+                t.base.set(new Base(0, 0, totalUp, totalDown));
+                continue;
+            }
+            t.base.set(new Base(after.getUpVotes(), after.getDownVotes(), totalUp, totalDown));
+            hotScoreService.onVotes(issueId, up - down);
+            detailCache.invalidate(issueId);
+            issueStreamService.broadcastVote(new IssueVoteSummaryDto(issueId, after.getUpVotes(), after.getDownVotes(), null));
+            try {
+                notificationService.notifyOwnerOnVote(after, t.lastVoter, after.getUpVotes(), after.getDownVotes());
+            } catch (Exception ignored) {}
+        }
+        if (changed) changeTracker.bump();
+    }
+
+    private VoteValue storedVote(VoteKey key) {
+        Query q = voteKey(key);
+        q.fields().include("value");
+        Vote v = mongoTemplate.findOne(q, Vote.class);
+        return v == null ? null : v.getValue();
+    }
+
+    private void loadBase(String issueId, Tally t) {
+        Query q = new Query(Criteria.where("id").is(issueId));
+        q.fields().include("upVotes").include("downVotes");
+        Issue counters = mongoTemplate.findOne(q, Issue.class);
+        // A flush that finished meanwhile set a newer base than this read may have seen; keep it
+        t.base.compareAndSet(null, counters == null ? new Base(0, 0, 0, 0)
+                : new Base(counters.getUpVotes(), counters.getDownVotes(), 0, 0));
+    }
+
+    private static void adderFor(Tally t, VoteValue v, int delta) {
+        if (v == VoteValue.UP) t.up.add(delta);
+        else if (v == VoteValue.DOWN) t.down.add(delta);
+    }
+
+    private static Query voteKey(VoteKey k) {
+        return new Query(Criteria.where("issueId").is(k.issueId()).and("userId").is(k.userId()));
+    }
+}
@@ -0,0 +1,114 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.Vote;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds Issue.upVotes/downVotes from issue_votes. Runs shortly after startup (backfills
+ * documents created before the counters existed) and then periodically to repair any drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VoteCounterReconciler {
+
+    private static final int BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final IssueChangeTracker changeTracker;
+    private final VoteBuffer voteBuffer;
+
+    @Scheduled(initialDelayString = "${app.votes.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${app.votes.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            long fixed = reconcileAll();
+            if (fixed > 0) {
+                changeTracker.bump();
+                log.info("VoteCounterReconciler: corrected counters on {} issues", fixed);
+            } else {
+                log.debug("VoteCounterReconciler: counters consistent");
+            }
+        } catch (Exception e) {
+            log.warn("VoteCounterReconciler failed: {}", e.getMessage());
+        }
+    }
+
+    public long reconcileAll() {
+        // Counters first, rows second: a vote landing after the snapshot moves its counter, so the
+        // conditional write below misses and the issue is left for the next run instead of being
+        // overwritten with a count that predates it
+        Query all = new Query();
+        all.fields().include("upVotes").include("downVotes");
+        Map<String, long[]> seen = new HashMap<>();
+        try (Stream<Issue> issues = mongoTemplate.stream(all, Issue.class)) {
+            issues.forEach(i -> seen.put(i.getId(), new long[]{i.getUpVotes(), i.getDownVotes()}));
+        }
+
+        Aggregation agg = Aggregation.newAggregation(
+                Aggregation.group("issueId", "value").count().as("count")
+        ).withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+        Map<String, long[]> expected = new HashMap<>();
+        for (Document d : mongoTemplate.aggregate(agg, Vote.class, Document.class).getMappedResults()) {
+            Document key = d.get("_id", Document.class);
+            if (key == null || key.getString("issueId") == null) continue;
+            long[] t = expected.computeIfAbsent(key.getString("issueId"), k -> new long[2]);
+            long count = ((Number) d.get("count")).longValue();
+            if ("UP".equals(key.getString("value"))) t[0] += count; else t[1] += count;
+        }
+
+        List<String> drifted = new ArrayList<>();
+        for (Map.Entry<String, long[]> e : seen.entrySet()) {
+            long[] was = e.getValue();
+            long[] t = expected.getOrDefault(e.getKey(), new long[2]);
+            if (was[0] != t[0] || was[1] != t[1]) drifted.add(e.getKey());
+        }
+        if (drifted.isEmpty()) return 0;
+        return voteBuffer.betweenFlushes(buffered -> {
+            long fixed = 0;
+            int pending = 0;
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Issue.class);
+            for (String issueId : drifted) {
+                if (buffered.test(issueId)) continue; // its rows and counters settle on the next flush
+                long[] was = seen.get(issueId);
+                long[] t = expected.getOrDefault(issueId, new long[2]);
+                // only overwrite if no live $inc landed since the snapshot
+                Query q = new Query(new Criteria().andOperator(
+                        Criteria.where("id").is(issueId),
+                        counterIs("upVotes", was[0]),
+                        counterIs("downVotes", was[1])));
+                bulk.updateOne(q, new Update().set("upVotes", t[0]).set("downVotes", t[1]));
+                fixed++;
+                if (++pending == BATCH) {
+                    bulk.execute();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Issue.class);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) bulk.execute();
+            return fixed;
+        });
+    }
+
+    // documents written before the counters existed have no field at all; treat that as 0
+    private static Criteria counterIs(String field, long value) {
+        return value == 0 ? Criteria.where(field).in(0L, null) : Criteria.where(field).is(value);
+    }
+}
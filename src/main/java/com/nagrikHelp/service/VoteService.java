@@ -4,64 +4,153 @@ import com.nagrikHelp.dto.IssueVoteSummaryDto;
 import com.nagrikHelp.model.Vote;
 import com.nagrikHelp.model.VoteValue;
 import com.nagrikHelp.repository.VoteRepository;
-import com.nagrikHelp.repository.IssueRepository;
 import com.nagrikHelp.model.Issue;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+
 @Service
 @RequiredArgsConstructor
 public class VoteService {
 
     private final VoteRepository voteRepository;
     private final IssueStreamService issueStreamService;
-    private final IssueRepository issueRepository;
+    private final MongoTemplate mongoTemplate;
     private final NotificationService notificationService;
+    private final IssueChangeTracker changeTracker;
+    private final IssueDetailCache detailCache;
+    private final HotScoreService hotScoreService;
+    private final VoteBuffer voteBuffer;
+    private final IssueFeedEnricher feedEnricher;
+    private final UserVoteIndex userVoteIndex;
+
+    public static final int MAX_SUMMARY_BATCH = 100;
 
+    /**
+     * Toggle/switch a user's vote. The vote row is changed with a single findAndRemove/findAndModify,
+     * and the previous value it returns drives a $inc on the issue's denormalized counters. In
+     * write-behind mode the vote goes to {@link VoteBuffer} instead.
+     */
     public IssueVoteSummaryDto castVote(String issueId, String userId, VoteValue value) {
+        if (voteBuffer.enabled()) return voteBuffer.castVote(issueId, userId, value);
         long now = System.currentTimeMillis();
-        Vote existing = voteRepository.findByIssueIdAndUserId(issueId, userId).orElse(null);
-        if (existing != null) {
-            if (existing.getValue() == value) {
-                // toggle off (remove vote)
-                voteRepository.delete(existing);
-            } else {
-                existing.setValue(value);
-                existing.setUpdatedAt(now);
-                voteRepository.save(existing);
-            }
+        VoteValue previous;
+        VoteValue current;
+        // same value already recorded -> toggle off (remove vote)
+        Vote removed = mongoTemplate.findAndRemove(voteKey(issueId, userId).addCriteria(Criteria.where("value").is(value)), Vote.class);
+        if (removed != null) {
+            previous = value;
+            current = null;
         } else {
-            Vote v = Vote.builder()
-                    .issueId(issueId)
-                    .userId(userId)
-                    .value(value)
-                    .createdAt(now)
-                    .updatedAt(now)
-                    .build();
-            voteRepository.save(v);
+            previous = upsertVote(issueId, userId, value, now);
+            current = value;
         }
-        long up = voteRepository.countByIssueIdAndValue(issueId, VoteValue.UP);
-        long down = voteRepository.countByIssueIdAndValue(issueId, VoteValue.DOWN);
-        String userVote = voteRepository.findByIssueIdAndUserId(issueId, userId)
-                .map(v -> v.getValue().name())
-                .orElse(null);
-        IssueVoteSummaryDto summary = new IssueVoteSummaryDto(issueId, up, down, userVote);
+        userVoteIndex.record(userId, issueId, current);
+        Issue counters = applyDelta(issueId, previous, current);
+        if (counters != null) hotScoreService.onVote(issueId, previous, current);
+        changeTracker.bump();
+        detailCache.invalidate(issueId);
+        long up = counters != null ? counters.getUpVotes() : 0L;
+        long down = counters != null ? counters.getDownVotes() : 0L;
+        IssueVoteSummaryDto summary = new IssueVoteSummaryDto(issueId, up, down, current == null ? null : current.name());
         issueStreamService.broadcastVote(summary);
         try {
-            Issue issue = issueRepository.findById(issueId).orElse(null);
-            if (issue != null) {
-                notificationService.notifyOwnerOnVote(issue, userId, up, down);
+            if (counters != null) {
+                notificationService.notifyOwnerOnVote(counters, userId, up, down);
             }
         } catch (Exception ignored) {}
         return summary;
     }
 
     public IssueVoteSummaryDto summarize(String issueId, String userId) {
-        long up = voteRepository.countByIssueIdAndValue(issueId, VoteValue.UP);
-        long down = voteRepository.countByIssueIdAndValue(issueId, VoteValue.DOWN);
-        String userVote = voteRepository.findByIssueIdAndUserId(issueId, userId)
+        Query q = new Query(Criteria.where("id").is(issueId));
+        q.fields().include("upVotes").include("downVotes");
+        Issue counters = mongoTemplate.findOne(q, Issue.class);
+        long[] pending = voteBuffer.pendingCounts(issueId);
+        long up = (counters != null ? counters.getUpVotes() : 0L) + pending[0];
+        long down = (counters != null ? counters.getDownVotes() : 0L) + pending[1];
+        return new IssueVoteSummaryDto(issueId, up, down, userVote(issueId, userId));
+    }
+
+    /**
+     * Summaries for many issues in request order: one $in read for the counters and one for the
+     * caller's votes, instead of {@link #summarize(String, String)} per card.
+     */
+    public List<IssueVoteSummaryDto> summarize(List<String> issueIds, String userId) {
+        List<String> ids = issueIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > MAX_SUMMARY_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_SUMMARY_BATCH + " issue ids per request");
+        }
+        if (ids.isEmpty()) return List.of();
+        Query q = new Query(Criteria.where("id").in(ids));
+        q.fields().include("upVotes").include("downVotes");
+        Map<String, Issue> counters = new HashMap<>();
+        for (Issue i : mongoTemplate.find(q, Issue.class)) counters.put(i.getId(), i);
+        Map<String, String> mine = feedEnricher.userVotes(ids, userId);
+        List<IssueVoteSummaryDto> out = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Issue c = counters.get(id);
+            long[] pending = voteBuffer.pendingCounts(id);
+            long up = (c != null ? c.getUpVotes() : 0L) + pending[0];
+            long down = (c != null ? c.getDownVotes() : 0L) + pending[1];
+            out.add(new IssueVoteSummaryDto(id, up, down, mine.get(id)));
+        }
+        return out;
+    }
+
+    public String userVote(String issueId, String userId) {
+        if (userId == null || userId.isBlank()) return null;
+        Optional<VoteBuffer.Pending> pending = voteBuffer.pending(issueId, userId);
+        if (pending.isPresent()) return pending.get().value() == null ? null : pending.get().value().name();
+        // One issue: the row itself is a single indexed read, cheaper than checking the index's version
+        return voteRepository.findByIssueIdAndUserId(issueId, userId)
                 .map(v -> v.getValue().name())
                 .orElse(null);
-        return new IssueVoteSummaryDto(issueId, up, down, userVote);
+    }
+
+    // @return the value held before this call (null when the vote was inserted)
+    private VoteValue upsertVote(String issueId, String userId, VoteValue value, long now) {
+        Update update = new Update()
+                .set("value", value)
+                .set("updatedAt", now)
+                .setOnInsert("createdAt", now);
+        FindAndModifyOptions opts = FindAndModifyOptions.options().upsert(true).returnNew(false);
+        Vote before;
+        try {
+            before = mongoTemplate.findAndModify(voteKey(issueId, userId), update, opts, Vote.class);
+        } catch (DuplicateKeyException race) {
+            // concurrent first vote by the same user; the row exists now, so this is a plain update
+            before = mongoTemplate.findAndModify(voteKey(issueId, userId), update, opts, Vote.class);
+        }
+        return before == null ? null : before.getValue();
+    }
+
+    private Issue applyDelta(String issueId, VoteValue previous, VoteValue current) {
+        Query q = new Query(Criteria.where("id").is(issueId));
+        q.fields().include("title").include("createdBy").include("upVotes").include("downVotes");
+        Update inc = new Update();
+        if (previous != current) {
+            if (current != null) inc.inc(counterField(current), 1);
+            if (previous != null) inc.inc(counterField(previous), -1);
+        }
+        if (inc.getUpdateObject().isEmpty()) {
+            return mongoTemplate.findOne(q, Issue.class);
+        }
+        return mongoTemplate.findAndModify(q, inc, FindAndModifyOptions.options().returnNew(true), Issue.class);
+    }
+
+    static String counterField(VoteValue v) {
+        return v == VoteValue.UP ? "upVotes" : "downVotes";
+    }
+
+    private Query voteKey(String issueId, String userId) {
+        return new Query(Criteria.where("issueId").is(issueId).and("userId").is(userId));
     }
 }
@@ -0,0 +1,25 @@
+package com.nagrikHelp.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+public final class ConditionalGet {
+    private ConditionalGet() {}
+
+    // Clients may keep a copy but must revalidate it; replaces Spring Security's no-store default
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    /**
+     * Checks If-None-Match against {@code etag}. When it matches the 304 is already written and the
+     * handler should return null; otherwise the ETag header is set for the 200. Compute the tag
+     * before reading the data so a concurrent write can only make the tag older than the body.
+     */
+    public static boolean notModified(WebRequest request, String etag) {
+        if (request instanceof ServletWebRequest swr && swr.getResponse() != null) {
+            swr.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        return request.checkNotModified(etag);
+    }
+}
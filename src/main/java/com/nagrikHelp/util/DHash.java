@@ -0,0 +1,94 @@
+package com.nagrikHelp.util;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 64-bit difference hash: the image is averaged down to 9x8 greyscale and each bit says whether
+ * a cell is brighter than its right-hand neighbour. Re-encoded, resized or lightly edited copies
+ * of a photo land within a few bits of each other.
+ * <p>
+ * For indexed lookup the hash is split into {@link #CHUNKS} 16-bit chunks: two hashes within
+ * {@code CHUNKS - 1} bits of each other must agree on at least one whole chunk (pigeonhole), so
+ * an equality index on the chunk keys finds every such match.
+ */
+public final class DHash {
+    private DHash() {}
+
+    /** Bumped whenever the algorithm changes, so stored hashes from an older one get recomputed. */
+    public static final int VERSION = 2;
+    public static final int CHUNKS = 4;
+    /** Largest distance the chunk index is guaranteed to find. */
+    public static final int INDEXED_DISTANCE = CHUNKS - 1;
+
+    public static long of(BufferedImage img) {
+        double[] grey = areaAverage(img, 9, 8);
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                hash = (hash << 1) | (grey[y * 9 + x] > grey[y * 9 + x + 1] ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Mean luma of each cell of a {@code cols x rows} grid laid over the whole image, every source
+     * pixel weighted by how much of it falls in the cell. A single interpolated draw down to 9x8
+     * reads only a few pixels per cell, so fine texture aliases and the hash shifts with the
+     * resolution the photo happened to be decoded at; the area mean does not.
+     */
+    static double[] areaAverage(BufferedImage img, int cols, int rows) {
+        int w = img.getWidth();
+        int h = img.getHeight();
+        double[] sum = new double[cols * rows];
+        double[] rowLuma = new double[cols];
+        int[] argb = new int[w];
+        for (int y = 0; y < h; y++) {
+            img.getRGB(0, y, w, 1, argb, 0, w);
+            Arrays.fill(rowLuma, 0);
+            for (int x = 0; x < w; x++) {
+                int p = argb[x];
+                double luma = 0.299 * (p >> 16 & 0xFF) + 0.587 * (p >> 8 & 0xFF) + 0.114 * (p & 0xFF);
+                spread(x, w, cols, luma, rowLuma, 0);
+            }
+            for (int c = 0; c < cols; c++) {
+                double v = rowLuma[c];
+                if (v != 0) spread(y, h, rows, v, sum, c, cols);
+            }
+        }
+        double cellArea = (double) w * h / (cols * rows);
+        for (int i = 0; i < sum.length; i++) sum[i] /= cellArea;
+        return sum;
+    }
+
+    // Adds value * overlap for each of the m cells pixel i of n covers (pixel i spans [i, i+1) scaled by m/n)
+    private static void spread(int i, int n, int m, double value, double[] out, int offset) {
+        spread(i, n, m, value, out, offset, 1);
+    }
+
+    private static void spread(int i, int n, int m, double value, double[] out, int offset, int stride) {
+        double from = (double) i * m / n;
+        double to = (double) (i + 1) * m / n;
+        for (int c = (int) from; c < m && c < to; c++) {
+            double overlap = Math.min(to, c + 1) - Math.max(from, c);
+            out[offset + c * stride] += value * overlap / (to - from);
+        }
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /** Index keys: chunk position in the high bits so equal values at different positions never match. */
+    public static List<Integer> chunks(long hash) {
+        List<Integer> out = new ArrayList<>(CHUNKS);
+        for (int i = 0; i < CHUNKS; i++) {
+            int chunk = (int) ((hash >>> (16 * i)) & 0xFFFF);
+            out.add((i << 16) | chunk);
+        }
+        return out;
+    }
+}
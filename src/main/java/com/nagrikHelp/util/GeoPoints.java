@@ -0,0 +1,91 @@
+package com.nagrikHelp.util;
+
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Conversions between the free-form {@code "lat,lon"} location string clients send and the
+ * GeoJSON point stored for geo queries. Note GeoJSON order is (longitude, latitude).
+ */
+public final class GeoPoints {
+    private GeoPoints() {}
+
+    public static final String FIELD = "geo";
+    public static final double MAX_RADIUS_KM = 50;
+    private static final double EARTH_RADIUS_M = 6_378_100; // the sphere MongoDB measures GeoJSON distances on
+
+    /** @return the point for a {@code "lat,lon"} string, or null when it is not a valid coordinate pair */
+    public static GeoJsonPoint parse(String location) {
+        if (location == null) return null;
+        int comma = location.indexOf(',');
+        if (comma <= 0 || comma != location.lastIndexOf(',')) return null;
+        try {
+            double lat = Double.parseDouble(location.substring(0, comma).trim());
+            double lon = Double.parseDouble(location.substring(comma + 1).trim());
+            if (!validLat(lat) || !validLon(lon)) return null;
+            return new GeoJsonPoint(lon, lat);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Closed ring for a lat/lon bounding box; throws IllegalArgumentException for an invalid box. */
+    public static GeoJsonPolygon box(double minLat, double minLon, double maxLat, double maxLon) {
+        if (!validLat(minLat) || !validLat(maxLat) || !validLon(minLon) || !validLon(maxLon)
+                || minLat >= maxLat || minLon >= maxLon) {
+            throw new IllegalArgumentException("Invalid bounding box");
+        }
+        return new GeoJsonPolygon(
+                new Point(minLon, minLat),
+                new Point(maxLon, minLat),
+                new Point(maxLon, maxLat),
+                new Point(minLon, maxLat),
+                new Point(minLon, minLat));
+    }
+
+    /** Validated point; throws IllegalArgumentException for bad coordinates. */
+    public static GeoJsonPoint point(double lat, double lon) {
+        if (!validLat(lat) || !validLon(lon)) throw new IllegalArgumentException("Invalid coordinates");
+        return new GeoJsonPoint(lon, lat);
+    }
+
+    /** Radius in meters; throws IllegalArgumentException outside (0, {@link #MAX_RADIUS_KM}]. */
+    public static double radiusMeters(double radiusKm) {
+        if (!(radiusKm > 0) || radiusKm > MAX_RADIUS_KM) throw new IllegalArgumentException("radiusKm must be in (0, " + MAX_RADIUS_KM + "]");
+        return radiusKm * 1000;
+    }
+
+    /** Great-circle distance in meters (haversine). */
+    public static double meters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /** {@code $geoWithin $centerSphere} on {@link #FIELD}; throws IllegalArgumentException for bad input. */
+    public static Criteria withinRadius(double lat, double lon, double radiusKm) {
+        if (!validLat(lat) || !validLon(lon)) throw new IllegalArgumentException("Invalid coordinates");
+        if (!(radiusKm > 0) || radiusKm > MAX_RADIUS_KM) throw new IllegalArgumentException("radiusKm must be in (0, " + MAX_RADIUS_KM + "]");
+        return Criteria.where(FIELD).withinSphere(new Circle(new Point(lon, lat), new Distance(radiusKm, Metrics.KILOMETERS)));
+    }
+
+    /** {@code $geoWithin} a bounding-box polygon on {@link #FIELD}. */
+    public static Criteria withinBox(double minLat, double minLon, double maxLat, double maxLon) {
+        return Criteria.where(FIELD).within(box(minLat, minLon, maxLat, maxLon));
+    }
+
+    public static boolean validLat(double lat) {
+        return lat >= -90 && lat <= 90;
+    }
+
+    public static boolean validLon(double lon) {
+        return lon >= -180 && lon <= 180;
+    }
+}
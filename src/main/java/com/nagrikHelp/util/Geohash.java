@@ -0,0 +1,72 @@
+package com.nagrikHelp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base-32 geohash encoding plus the cell arithmetic the cluster tiles need. Precision p has
+ * 5p bits, interleaved longitude-first, so odd precisions have cells twice as wide as tall.
+ */
+public final class Geohash {
+    private Geohash() {}
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    public static String encode(double lat, double lon, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder sb = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0, ch = 0;
+        while (sb.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (lon >= mid) { ch = (ch << 1) | 1; minLon = mid; } else { ch <<= 1; maxLon = mid; }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) { ch = (ch << 1) | 1; minLat = mid; } else { ch <<= 1; maxLat = mid; }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                sb.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return sb.toString();
+    }
+
+    public static double cellWidth(int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    public static double cellHeight(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    /** Number of cells at {@code precision} that a bounding box touches. */
+    public static long cellCount(double minLat, double minLon, double maxLat, double maxLon, int precision) {
+        double w = cellWidth(precision), h = cellHeight(precision);
+        long cols = (long) Math.floor((maxLon + 180) / w) - (long) Math.floor((minLon + 180) / w) + 1;
+        long rows = (long) Math.floor((maxLat + 90) / h) - (long) Math.floor((minLat + 90) / h) + 1;
+        return cols * rows;
+    }
+
+    /** Every cell at {@code precision} touching the box, or null when there would be more than {@code maxCells}. */
+    public static List<String> cover(double minLat, double minLon, double maxLat, double maxLon, int precision, int maxCells) {
+        if (cellCount(minLat, minLon, maxLat, maxLon, precision) > maxCells) return null;
+        double w = cellWidth(precision), h = cellHeight(precision);
+        List<String> out = new ArrayList<>();
+        long firstCol = (long) Math.floor((minLon + 180) / w), lastCol = (long) Math.floor((maxLon + 180) / w);
+        long firstRow = (long) Math.floor((minLat + 90) / h), lastRow = (long) Math.floor((maxLat + 90) / h);
+        for (long r = firstRow; r <= lastRow; r++) {
+            double lat = Math.min(90, -90 + (r + 0.5) * h);
+            for (long c = firstCol; c <= lastCol; c++) {
+                double lon = Math.min(180, -180 + (c + 0.5) * w);
+                out.add(encode(lat, lon, precision));
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,101 @@
+package com.nagrikHelp.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decodes an image once and renders fixed-width JPEG variants. Decoding uses ImageIO source
+ * subsampling sized for the largest requested width, so a 48 MP phone photo is never fully
+ * materialised when we only need a 1280 px rendition.
+ */
+public final class ImageResizer {
+    private ImageResizer() {}
+
+    public static final float JPEG_QUALITY = 0.82f;
+
+    /**
+     * @param widths target widths, ascending; widths at or above the source width are skipped
+     * @return width -> JPEG bytes for each variant produced
+     */
+    public static Map<Integer, byte[]> renderVariants(InputStream source, int[] widths) throws IOException {
+        BufferedImage decoded = decodeForWidth(source, widths[widths.length - 1]);
+        return encodeVariants(decoded, widths);
+    }
+
+    /** Decoded image with integer subsampling so its width stays >= targetWidth. Null when undecodable. */
+    public static BufferedImage decodeForWidth(InputStream source, int targetWidth) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(source)) {
+            if (iis == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int w = reader.getWidth(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, w / Math.max(1, targetWidth));
+                if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    public static Map<Integer, byte[]> encodeVariants(BufferedImage img, int[] widths) throws IOException {
+        Map<Integer, byte[]> out = new LinkedHashMap<>();
+        if (img == null) return out;
+        for (int width : widths) {
+            if (width >= img.getWidth()) continue;
+            out.put(width, encodeJpeg(scaleToWidth(img, width)));
+        }
+        return out;
+    }
+
+    public static BufferedImage scaleToWidth(BufferedImage src, int width) {
+        int height = Math.max(1, (int) Math.round((double) src.getHeight() * width / src.getWidth()));
+        BufferedImage dst = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE); // flatten transparency for JPEG
+            g.fillRect(0, 0, width, height);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    public static byte[] encodeJpeg(BufferedImage img) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(32 * 1024);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(bos)) {
+            writer.setOutput(ios);
+            ImageWriteParam p = writer.getDefaultWriteParam();
+            p.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            p.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(img, null, null), p);
+        } finally {
+            writer.dispose();
+        }
+        return bos.toByteArray();
+    }
+}
@@ -0,0 +1,22 @@
+package com.nagrikHelp.util;
+
+import org.springframework.http.MediaType;
+
+public final class ImageTypes {
+    private ImageTypes() {}
+
+    /** Content type from magic bytes, or null if not a recognised image format. */
+    public static String sniff(byte[] b) {
+        if (b.length >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) return MediaType.IMAGE_JPEG_VALUE;
+        if (b.length >= 8 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G') return MediaType.IMAGE_PNG_VALUE;
+        if (b.length >= 6 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F') return MediaType.IMAGE_GIF_VALUE;
+        if (b.length >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') return "image/webp";
+        return null;
+    }
+
+    public static String sniffOrDefault(byte[] b) {
+        String t = sniff(b);
+        return t != null ? t : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+}
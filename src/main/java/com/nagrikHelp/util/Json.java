@@ -0,0 +1,51 @@
+package com.nagrikHelp.util;
+
+/**
+ * Minimal JSON writing for hot paths that build small fixed-shape payloads by hand (SSE events).
+ * Appends straight into the caller's StringBuilder; strings are escaped per RFC 8259, plus
+ * U+2028/U+2029 so the output is also safe to embed in a script.
+ */
+public final class Json {
+    private Json() {}
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Appends {@code v} as a quoted JSON string, or {@code null}. */
+    public static StringBuilder string(StringBuilder sb, String v) {
+        if (v == null) return sb.append("null");
+        sb.append('"');
+        int start = 0;
+        int n = v.length();
+        for (int i = 0; i < n; i++) {
+            char c = v.charAt(i);
+            String esc = escape(c);
+            if (esc == null && c >= 0x20 && c != '\u2028' && c != '\u2029') continue;
+            sb.append(v, start, i); // copy the unescaped run in one go
+            if (esc != null) {
+                sb.append(esc);
+            } else {
+                sb.append("\\u").append(HEX[c >> 12 & 0xF]).append(HEX[c >> 8 & 0xF])
+                        .append(HEX[c >> 4 & 0xF]).append(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        return sb.append(v, start, n).append('"');
+    }
+
+    public static String string(String v) {
+        return string(new StringBuilder(v == null ? 4 : v.length() + 8), v).toString();
+    }
+
+    private static String escape(char c) {
+        return switch (c) {
+            case '"' -> "\\\"";
+            case '\\' -> "\\\\";
+            case '\n' -> "\\n";
+            case '\r' -> "\\r";
+            case '\t' -> "\\t";
+            case '\b' -> "\\b";
+            case '\f' -> "\\f";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.nagrikHelp.util;
+
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.service.ImageVariantService;
+
+public final class MediaUrls {
+    private MediaUrls() {}
+
+    public static final String BASE = "/api/media";
+
+    /**
+     * Full-size photo of an issue: the immutable hash URL when the photo is in the media store,
+     * the per-issue URL for not-yet-migrated inline images, else the legacy photoUrl.
+     */
+    public static String image(Issue i) {
+        if (i.getImageHash() != null) return blob(i.getImageHash());
+        if (i.isHasImage() && i.getId() != null) return BASE + "/issues/" + i.getId();
+        return i.getPhotoUrl();
+    }
+
+    public static String blob(String hash) {
+        return BASE + "/" + hash;
+    }
+
+    /** Card-sized preview; falls back to the full image until the variant job has run. */
+    public static String thumbnail(Issue i) {
+        if (i.getImageVariants() != null) {
+            String hash = i.getImageVariants().get(String.valueOf(ImageVariantService.THUMBNAIL_WIDTH));
+            if (hash != null) return blob(hash);
+        }
+        return image(i);
+    }
+}
@@ -0,0 +1,89 @@
+package com.nagrikHelp.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over character 3-gram shingles, plus LSH band keys for indexed lookup.
+ * Two texts share at least one of {@link #BANDS} band keys with probability
+ * {@code 1 - (1 - J^ROWS)^BANDS} for Jaccard similarity J, which is ~0.5 at J = 0.45 and
+ * above 0.97 at J = 0.7. The hash family is seeded with a constant, so signatures stored on
+ * documents stay comparable across restarts; changing any constant means re-signing everything.
+ */
+public final class MinHash {
+    private MinHash() {}
+
+    public static final int BANDS = 16;
+    public static final int ROWS = 4;
+    public static final int SIZE = BANDS * ROWS;
+    private static final int SHINGLE = 3;
+
+    private static final long[] A = new long[SIZE];
+    private static final long[] B = new long[SIZE];
+    static {
+        SplittableRandom rnd = new SplittableRandom(0x6E616772696BL);
+        for (int i = 0; i < SIZE; i++) {
+            A[i] = rnd.nextLong() | 1L; // odd multiplier
+            B[i] = rnd.nextLong();
+        }
+    }
+
+    /** @return null when the text has no shingles (blank or only punctuation) */
+    public static int[] signature(String text) {
+        Set<Integer> shingles = shingles(text);
+        if (shingles.isEmpty()) return null;
+        int[] sig = new int[SIZE];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (int s : shingles) {
+            long x = s & 0xFFFFFFFFL;
+            for (int i = 0; i < SIZE; i++) {
+                int h = (int) ((A[i] * x + B[i]) >>> 33); // multiply-shift, non-negative
+                if (h < sig[i]) sig[i] = h;
+            }
+        }
+        return sig;
+    }
+
+    /** One key per band; the band index is mixed in so equal rows in different bands never collide. */
+    public static long[] bands(int[] sig) {
+        long[] keys = new long[BANDS];
+        for (int b = 0; b < BANDS; b++) {
+            long h = 0x9E3779B97F4A7C15L * (b + 1);
+            for (int r = 0; r < ROWS; r++) h = mix(h ^ sig[b * ROWS + r]);
+            keys[b] = h;
+        }
+        return keys;
+    }
+
+    /** Estimated Jaccard similarity: the fraction of equal signature slots. */
+    public static double similarity(int[] a, int[] b) {
+        if (a == null || b == null || a.length != b.length) return 0;
+        int same = 0;
+        for (int i = 0; i < a.length; i++) if (a[i] == b[i]) same++;
+        return (double) same / a.length;
+    }
+
+    static Set<Integer> shingles(String text) {
+        Set<Integer> out = new HashSet<>();
+        if (text == null) return out;
+        String norm = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        if (norm.isEmpty()) return out;
+        if (norm.length() <= SHINGLE) {
+            out.add(norm.hashCode());
+            return out;
+        }
+        for (int i = 0; i + SHINGLE <= norm.length(); i++) out.add(norm.substring(i, i + SHINGLE).hashCode());
+        return out;
+    }
+
+    private static long mix(long z) { // SplitMix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,50 @@
+package com.nagrikHelp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque keyset continuation token: the sort key of the last item on a page plus its id
+ * as tie-breaker. Clients only ever see the base64url form.
+ */
+public record PageCursor(String key, String id) {
+
+    private static final char SEP = '|';
+
+    public static PageCursor of(Date updatedAt, String id) {
+        return new PageCursor(Long.toString(updatedAt == null ? 0L : updatedAt.getTime()), id);
+    }
+
+    public static PageCursor of(double score, String id) {
+        return new PageCursor(Double.toString(score), id);
+    }
+
+    public Date timeKey() {
+        return new Date(Long.parseLong(key));
+    }
+
+    public double scoreKey() {
+        return Double.parseDouble(key);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEP + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @return decoded cursor, or null for a null/blank token (first page) */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEP);
+            if (sep <= 0 || sep == raw.length() - 1) throw new IllegalArgumentException("Invalid cursor");
+            PageCursor c = new PageCursor(raw.substring(0, sep), raw.substring(sep + 1));
+            Double.parseDouble(c.key()); // validate
+            return c;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.nagrikHelp.util;
+
+import com.nagrikHelp.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public final class PageResponses {
+    private PageResponses() {}
+
+    /** Response header carrying the continuation token; the body stays a plain JSON array for existing clients. */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    /** Present (value {@code true}) when the result set was capped and some matches are not included. */
+    public static final String TRUNCATED_HEADER = "X-Results-Truncated";
+
+    public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder b = ResponseEntity.ok();
+        if (page.getNextCursor() != null) b.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        if (page.isTruncated()) b.header(TRUNCATED_HEADER, "true");
+        return b.body(page.getItems());
+    }
+}
@@ -0,0 +1,88 @@
+package com.nagrikHelp.util;
+
+import com.nagrikHelp.model.VoteValue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable set of one user's votes: issue ids in sorted order with a parallel byte array of
+ * values, looked up by binary search. Two arrays instead of a map keep a few thousand votes in
+ * tens of kilobytes; {@link #with} copies, which is cheap at that size and lets readers share an
+ * instance without locking.
+ */
+public final class SortedVotes {
+
+    public static final SortedVotes EMPTY = new SortedVotes(new String[0], new byte[0]);
+
+    private static final byte UP = 1;
+    private static final byte DOWN = -1;
+
+    private final String[] ids;
+    private final byte[] values;
+
+    private SortedVotes(String[] ids, byte[] values) {
+        this.ids = ids;
+        this.values = values;
+    }
+
+    /** Builds from an unordered map; null values are skipped. */
+    public static SortedVotes of(Map<String, VoteValue> votes) {
+        String[] ids = votes.entrySet().stream()
+                .filter(e -> e.getKey() != null && e.getValue() != null)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toArray(String[]::new);
+        byte[] values = new byte[ids.length];
+        for (int i = 0; i < ids.length; i++) values[i] = encode(votes.get(ids[i]));
+        return new SortedVotes(ids, values);
+    }
+
+    public VoteValue get(String issueId) {
+        int i = Arrays.binarySearch(ids, issueId);
+        return i < 0 ? null : decode(values[i]);
+    }
+
+    /** Copy with the vote on {@code issueId} set, or removed when {@code value} is null. */
+    public SortedVotes with(String issueId, VoteValue value) {
+        int i = Arrays.binarySearch(ids, issueId);
+        if (i >= 0) {
+            if (value == null) {
+                String[] nIds = new String[ids.length - 1];
+                byte[] nValues = new byte[ids.length - 1];
+                System.arraycopy(ids, 0, nIds, 0, i);
+                System.arraycopy(ids, i + 1, nIds, i, ids.length - i - 1);
+                System.arraycopy(values, 0, nValues, 0, i);
+                System.arraycopy(values, i + 1, nValues, i, ids.length - i - 1);
+                return new SortedVotes(nIds, nValues);
+            }
+            if (values[i] == encode(value)) return this;
+            byte[] nValues = values.clone();
+            nValues[i] = encode(value);
+            return new SortedVotes(ids, nValues);
+        }
+        if (value == null) return this;
+        int at = -i - 1;
+        String[] nIds = new String[ids.length + 1];
+        byte[] nValues = new byte[ids.length + 1];
+        System.arraycopy(ids, 0, nIds, 0, at);
+        System.arraycopy(ids, at, nIds, at + 1, ids.length - at);
+        System.arraycopy(values, 0, nValues, 0, at);
+        System.arraycopy(values, at, nValues, at + 1, ids.length - at);
+        nIds[at] = issueId;
+        nValues[at] = encode(value);
+        return new SortedVotes(nIds, nValues);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    private static byte encode(VoteValue v) {
+        return v == VoteValue.UP ? UP : DOWN;
+    }
+
+    private static VoteValue decode(byte b) {
+        return b == UP ? VoteValue.UP : VoteValue.DOWN;
+    }
+}
@@ -0,0 +1,63 @@
+package com.nagrikHelp.util;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * A complete server-sent event ({@code retry:}/{@code id:}/{@code event:}/{@code data:} lines and
+ * the blank terminator) encoded once as UTF-8. {@link #payload()} is what
+ * {@code SseEmitter.send(Set)} takes: raw bytes go through the byte-array converter untouched,
+ * so broadcasting to N subscribers writes one shared buffer N times instead of formatting and
+ * encoding the event N times.
+ */
+public final class SseFrame {
+
+    private final byte[] bytes;
+    private final Set<ResponseBodyEmitter.DataWithMediaType> payload;
+
+    private SseFrame(byte[] bytes) {
+        this.bytes = bytes;
+        this.payload = Set.of(new ResponseBodyEmitter.DataWithMediaType(bytes, MediaType.TEXT_PLAIN));
+    }
+
+    /** @param id and {@code retryMs} are optional (null / negative); multi-line data becomes several data lines */
+    public static SseFrame of(String event, String id, String data, long retryMs) {
+        StringBuilder sb = new StringBuilder(32 + (data == null ? 0 : data.length()));
+        if (retryMs >= 0) sb.append("retry:").append(retryMs).append('\n');
+        if (id != null) sb.append("id:").append(oneLine(id)).append('\n');
+        if (event != null) sb.append("event:").append(oneLine(event)).append('\n');
+        String d = data == null ? "" : data;
+        int start = 0;
+        for (int nl = d.indexOf('\n'); nl >= 0; nl = d.indexOf('\n', start)) {
+            sb.append("data:").append(d, start, nl).append('\n');
+            start = nl + 1;
+        }
+        sb.append("data:").append(d, start, d.length()).append("\n\n");
+        return new SseFrame(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SseFrame of(String event, String data) {
+        return of(event, null, data, -1);
+    }
+
+    /** A {@code :comment} line; clients ignore it, so it only proves the connection still takes writes. */
+    public static SseFrame comment(String text) {
+        return new SseFrame((":" + oneLine(text) + "\n\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Set<ResponseBodyEmitter.DataWithMediaType> payload() {
+        return payload;
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+
+    // A line break inside a field would end it early
+    private static String oneLine(String v) {
+        return v.indexOf('\n') < 0 && v.indexOf('\r') < 0 ? v : v.replace("\r", "").replace('\n', ' ');
+    }
+}
@@ -0,0 +1,90 @@
+package com.nagrikHelp.bench;
+
+import com.nagrikHelp.service.ImageVariantService;
+import com.nagrikHelp.util.ImageResizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode + resize cost of the variant pipeline. Not a unit test; no server needed:
+ * <pre>
+ *   ./gradlew jmh --args='ImageResizeBenchmark'
+ * </pre>
+ * "singleThread" is the latency of one photo; "allCores" runs one thread per core and reports
+ * images/second for all of them together, so divide by the core count for the per-core figure.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ImageResizeBenchmark {
+
+    @Param({"4000x3000"})
+    String source;
+
+    private byte[] jpeg;
+
+    @Setup
+    public void encodeSource() throws IOException {
+        String[] wh = source.split("x");
+        jpeg = ImageResizer.encodeJpeg(syntheticPhoto(Integer.parseInt(wh[0]), Integer.parseInt(wh[1])));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public Map<Integer, byte[]> singleThread() throws IOException {
+        return render();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(Threads.MAX)
+    public Map<Integer, byte[]> allCores() throws IOException {
+        return render();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ImageResizeBenchmark.class.getName()).build()).run();
+    }
+
+    private Map<Integer, byte[]> render() throws IOException {
+        return ImageResizer.renderVariants(new ByteArrayInputStream(jpeg), ImageVariantService.WIDTHS);
+    }
+
+    // Gradient plus noise so the encoder cannot cheat on flat areas
+    private static BufferedImage syntheticPhoto(int w, int h) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int r = (x * 255 / w + rnd.nextInt(24)) & 0xFF;
+                int g = (y * 255 / h + rnd.nextInt(24)) & 0xFF;
+                int b = ((x + y) * 255 / (w + h) + rnd.nextInt(24)) & 0xFF;
+                img.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return img;
+    }
+}
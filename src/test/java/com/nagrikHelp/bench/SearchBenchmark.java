@@ -0,0 +1,154 @@
+package com.nagrikHelp.bench;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.nagrikHelp.model.Comment;
+import com.nagrikHelp.model.Issue;
+import com.nagrikHelp.model.IssueCategory;
+import com.nagrikHelp.model.IssueStatus;
+import com.nagrikHelp.service.IssueFeedEnricher;
+import com.nagrikHelp.service.IssueSearchService;
+import com.nagrikHelp.service.UserVoteIndex;
+import com.nagrikHelp.service.VoteBuffer;
+import com.nagrikHelp.util.GeoPoints;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Search latency against a synthetic corpus. Not a unit test; needs a scratch MongoDB:
+ * <pre>
+ *   java -cp build/classes/java/main:build/classes/java/test:$(deps) com.nagrikHelp.bench.SearchBenchmark \
+ *       [mongodb://localhost:27017/nagrik_bench issues queries]
+ * </pre>
+ * Seeds the database up to the requested number of issues (plus one comment per five issues) on
+ * first run, then prints p50/p95/p99 for plain, filtered and geo-bounded queries.
+ */
+public class SearchBenchmark {
+
+    private static final String[] WORDS = ("pothole road broken deep water leak pipe burst garbage pile overflowing " +
+            "streetlight dark flickering drain blocked sewage smell footpath damaged traffic signal tree fallen " +
+            "wire hanging stray dogs noise construction debris flooding puddle crossing school market bus stop " +
+            "hospital park bridge crack manhole open cover missing dust mosquito").split(" ");
+    private static final String[] QUERIES = {"pothole", "water leak", "garbage overflowing", "streetlight dark",
+            "manhole cover missing", "drain blocked sewage", "fallen tree wire", "bus stop footpath"};
+    private static final int BATCH = 5000;
+
+    public static void main(String[] args) {
+        String uri = args.length > 0 ? args[0] : "mongodb://localhost:27017/nagrik_bench";
+        int issues = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        try (MongoClient client = MongoClients.create(uri)) {
+            String db = uri.substring(uri.lastIndexOf('/') + 1).split("\\?")[0];
+            MongoTemplate mongo = new MongoTemplate(client, db.isEmpty() ? "nagrik_bench" : db);
+            seed(mongo, issues);
+            ensureIndexes(mongo);
+            IssueSearchService search = new IssueSearchService(mongo,
+                    new IssueFeedEnricher(mongo, new VoteBuffer(mongo, null, null, null, null, null, null, false, 0),
+                            new UserVoteIndex(mongo, 0, 0, 1)));
+
+            IssueSearchService.Filters open = new IssueSearchService.Filters(IssueStatus.OPEN, null, null, null, null);
+            IssueSearchService.Filters nearby = new IssueSearchService.Filters(null, null, null, null,
+                    GeoPoints.withinRadius(12.9716, 77.5946, 5));
+            run("plain", search, null, queries);
+            run("status=OPEN", search, open, queries);
+            run("5 km radius", search, nearby, queries);
+        }
+    }
+
+    private static void run(String label, IssueSearchService search, IssueSearchService.Filters filters, int n) {
+        for (int i = 0; i < 10; i++) search.search(QUERIES[i % QUERIES.length], filters, null, 20); // warm-up
+        long[] nanos = new long[n];
+        for (int i = 0; i < n; i++) {
+            long t0 = System.nanoTime();
+            search.search(QUERIES[i % QUERIES.length], filters, null, 20);
+            nanos[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-12s p50 %6.1f ms  p95 %6.1f ms  p99 %6.1f ms%n", label,
+                pct(nanos, 50), pct(nanos, 95), pct(nanos, 99));
+    }
+
+    private static double pct(long[] sorted, int p) {
+        int i = Math.min(sorted.length - 1, (int) Math.ceil(p / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, i)] / 1e6;
+    }
+
+    private static void seed(MongoTemplate mongo, int target) {
+        // Earlier runs seeded non-ObjectId ids, which the comment $lookup cannot join; start over
+        if (mongo.exists(new Query(Criteria.where("id").regex("^bench")), Issue.class)) {
+            System.out.println("dropping a corpus seeded with non-ObjectId ids...");
+            mongo.dropCollection(Issue.class);
+            mongo.dropCollection(Comment.class);
+        }
+        long have = mongo.estimatedCount(Issue.class);
+        if (have >= target) return;
+        System.out.printf("seeding %d issues...%n", target - have);
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        IssueStatus[] statuses = IssueStatus.values();
+        IssueCategory[] categories = IssueCategory.values();
+        long now = System.currentTimeMillis();
+        List<Issue> issues = new ArrayList<>(BATCH);
+        List<Comment> comments = new ArrayList<>(BATCH / 5);
+        for (long n = have; n < target; n++) {
+            long created = now - rnd.nextLong(365L * 24 * 3600 * 1000);
+            // Spread over a ~60 km square around Bengaluru
+            double lat = 12.70 + rnd.nextDouble(0.55), lon = 77.30 + rnd.nextDouble(0.55);
+            String id = new ObjectId().toHexString(); // IssueSearchService joins comments via $convert to objectId
+            issues.add(Issue.builder()
+                    .id(id)
+                    .title(words(rnd, 4 + rnd.nextInt(5)))
+                    .description(words(rnd, 15 + rnd.nextInt(30)))
+                    .location(lat + "," + lon)
+                    .geo(new GeoJsonPoint(lon, lat))
+                    .status(statuses[rnd.nextInt(statuses.length)])
+                    .category(categories[rnd.nextInt(categories.length)])
+                    .createdBy("bench" + rnd.nextInt(10_000) + "@example.com")
+                    .createdAt(created)
+                    .updatedAt(new Date(created))
+                    .build());
+            if (n % 5 == 0) {
+                comments.add(Comment.builder().issueId(id).userId("bench@example.com").userName("Bench")
+                        .text(words(rnd, 5 + rnd.nextInt(15))).createdAt(created).updatedAt(created).build());
+            }
+            if (issues.size() == BATCH) flush(mongo, issues, comments);
+        }
+        flush(mongo, issues, comments);
+    }
+
+    private static void flush(MongoTemplate mongo, List<Issue> issues, List<Comment> comments) {
+        if (!issues.isEmpty()) mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Issue.class).insert(issues).execute();
+        if (!comments.isEmpty()) mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class).insert(comments).execute();
+        issues.clear();
+        comments.clear();
+    }
+
+    // Same resolution MongoIndexInitializer does at startup
+    private static void ensureIndexes(MongoTemplate mongo) {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mongo.getConverter().getMappingContext());
+        for (Class<?> type : List.of(Issue.class, Comment.class)) {
+            IndexOperations ops = mongo.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(ops::ensureIndex);
+        }
+    }
+
+    private static String words(ThreadLocalRandom rnd, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[rnd.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package com.nagrikHelp.bench;
+
+import com.nagrikHelp.util.Json;
+import com.nagrikHelp.util.SseFrame;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of broadcasting one comment event to N subscribers. Not a unit test; no server needed:
+ * <pre>
+ *   ./gradlew jmh --args='SseFanoutBenchmark'
+ * </pre>
+ * Every emitter is handed to Spring's {@link ResponseBodyEmitterReturnValueHandler}, as a controller
+ * returning it would be, so each send goes through {@code SseEmitter.send}, the message converters
+ * and a servlet response; only the socket is replaced by a counting sink. "perEmitter" is the old
+ * path (String.format the JSON, then build the event per subscriber and let the String converter
+ * encode it); "sharedFrame" encodes the frame once and sends the same bytes to everyone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SseFanoutBenchmark {
+
+    private static final String TEXT = "Water has been leaking from the main pipe near the \"bus stop\" for three days.\n"
+            + "सड़क पर पानी भर गया है";
+
+    @Param({"100", "1000"})
+    int subscribers;
+
+    private SseEmitter[] emitters;
+    private CountingOutputStream sink;
+    private int round;
+
+    @Setup
+    public void connect() throws Exception {
+        ResponseBodyEmitterReturnValueHandler handler = new ResponseBodyEmitterReturnValueHandler(List.of(
+                new ByteArrayHttpMessageConverter(), new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter()));
+        MethodParameter returnType = new MethodParameter(SseFanoutBenchmark.class.getDeclaredMethod("stream"), -1);
+        sink = new CountingOutputStream();
+        emitters = new SseEmitter[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/issues/stream");
+            request.setAsyncSupported(true);
+            MockHttpServletResponse response = new MockHttpServletResponse() {
+                @Override
+                public ServletOutputStream getOutputStream() {
+                    return sink;
+                }
+            };
+            ServletWebRequest webRequest = new ServletWebRequest(request, response);
+            WebAsyncUtils.getAsyncManager(webRequest).setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+            emitters[i] = stream();
+            handler.handleReturnValue(emitters[i], returnType, new ModelAndViewContainer(), webRequest);
+        }
+    }
+
+    @Benchmark
+    public long perEmitter() throws IOException {
+        String json = String.format("{\"issueId\":\"%s\",\"commentsCount\":%d,\"comment\":{\"id\":\"%s\",\"userName\":\"%s\",\"text\":%s,\"createdAt\":%d}}",
+                "65a1f0c2e4b0a1b2c3d4e5f6", 42 + round++, "65a1f0c2e4b0a1b2c3d4e5f7", "Asha", legacyString(TEXT), 1_700_000_000_000L);
+        for (SseEmitter emitter : emitters) {
+            emitter.send(SseEmitter.event().id("65a1f0c2e4b0a1b2c3d4e5f7").name("comment").data(json, MediaType.APPLICATION_JSON));
+        }
+        return sink.count;
+    }
+
+    @Benchmark
+    public long sharedFrame() throws IOException {
+        StringBuilder sb = new StringBuilder(192).append("{\"issueId\":");
+        Json.string(sb, "65a1f0c2e4b0a1b2c3d4e5f6").append(",\"commentsCount\":").append(42 + round++).append(",\"comment\":{\"id\":");
+        Json.string(sb, "65a1f0c2e4b0a1b2c3d4e5f7").append(",\"userName\":");
+        Json.string(sb, "Asha").append(",\"text\":");
+        Json.string(sb, TEXT).append(",\"createdAt\":").append(1_700_000_000_000L).append("}}");
+        SseFrame frame = SseFrame.of("comment", "65a1f0c2e4b0a1b2c3d4e5f7", sb.toString(), -1);
+        for (SseEmitter emitter : emitters) {
+            emitter.send(frame.payload());
+        }
+        return sink.count;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(SseFanoutBenchmark.class.getName()).build()).run();
+    }
+
+    // What a controller method hands back; the handler needs its return type
+    static SseEmitter stream() {
+        return new SseEmitter(0L);
+    }
+
+    // The escaping IssueStreamService used before; kept here only as the baseline
+    private static String legacyString(String v) {
+        return "\"" + v.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /** Stands in for the connector's socket stream: counts what the converters wrote and drops it. */
+    static final class CountingOutputStream extends ServletOutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+        }
+    }
+}
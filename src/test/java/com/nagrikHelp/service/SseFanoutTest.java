@@ -0,0 +1,162 @@
+package com.nagrikHelp.service;
+
+import com.nagrikHelp.util.SseFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseFanoutTest {
+
+    /** Records what was written; while gated, the first send blocks like a write to a dead peer. */
+    static class GatedEmitter extends SseEmitter {
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release;
+        volatile boolean completed;
+
+        GatedEmitter(boolean gated) {
+            super(60_000L);
+            this.release = new CountDownLatch(gated ? 1 : 0);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            for (DataWithMediaType d : items) sent.add(new String((byte[]) d.getData(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private SseFanout fanout;
+
+    @AfterEach
+    void tearDown() {
+        if (fanout != null) fanout.shutdown();
+    }
+
+    @Test
+    void dropOldest_keepsNewestEventsWhenFull() throws Exception {
+        fanout = new SseFanout("test", 1, 1, 2, SseFanout.Overflow.DROP_OLDEST, 60_000);
+        GatedEmitter em = blockedSubscriber("t");
+        fanout.publish("t", event("1", null));
+        fanout.publish("t", event("2", null));
+        fanout.publish("t", event("3", null));
+        em.release.countDown();
+
+        await(() -> em.sent.size() == 3);
+        assertEquals(List.of(frame("2"), frame("3")), em.sent.subList(1, 3));
+        assertEquals(1L, fanout.stats().get("dropped"));
+    }
+
+    @Test
+    void coalesce_replacesQueuedEventWithSameKeyAndKeepsOrder() throws Exception {
+        fanout = new SseFanout("test", 1, 1, 4, SseFanout.Overflow.COALESCE, 60_000);
+        GatedEmitter em = blockedSubscriber("t");
+        fanout.publish("t", event("votes=1", "vote"));
+        fanout.publish("t", event("comment", null));
+        fanout.publish("t", event("votes=2", "vote"));
+        em.release.countDown();
+
+        await(() -> em.sent.size() == 3);
+        assertEquals(List.of(frame("comment"), frame("votes=2")), em.sent.subList(1, 3));
+        assertEquals(1L, fanout.stats().get("coalesced"));
+    }
+
+    @Test
+    void disconnect_evictsOnOverflowAndCompletesOnlyAfterSendReturns() throws Exception {
+        fanout = new SseFanout("test", 1, 1, 1, SseFanout.Overflow.DISCONNECT, 60_000);
+        GatedEmitter em = blockedSubscriber("t");
+        fanout.publish("t", event("1", null));
+        fanout.publish("t", event("2", null));
+
+        assertFalse(fanout.hasSubscribers("t"));
+        assertFalse(em.completed, "complete() must not run while a send is in flight");
+        em.release.countDown();
+        await(() -> em.completed);
+        assertEquals(1, em.sent.size()); // the ping in flight; the queued events were discarded
+        assertEquals(1L, fanout.stats().get("disconnected"));
+    }
+
+    @Test
+    void reap_evictsBlockedWriterWithoutWaitingForIt() throws Exception {
+        fanout = new SseFanout("test", 1, 1, 4, SseFanout.Overflow.COALESCE, 50);
+        GatedEmitter em = blockedSubscriber("t");
+        Thread.sleep(100);
+
+        assertEquals(1, fanout.reap());
+        assertFalse(fanout.hasSubscribers("t"));
+        assertFalse(em.completed);
+        em.release.countDown();
+        await(() -> em.completed);
+    }
+
+    @Test
+    void reap_leavesQueuedButIdleSubscribersAlone() throws Exception {
+        fanout = new SseFanout("test", 1, 1, 4, SseFanout.Overflow.COALESCE, 50);
+        GatedEmitter blocked = blockedSubscriber("a");
+        GatedEmitter waiting = new GatedEmitter(false);
+        fanout.subscribe("b", waiting, 0); // queued behind the only pool thread
+        Thread.sleep(100);
+
+        assertEquals(1, fanout.reap());
+        assertTrue(fanout.hasSubscribers("b"));
+        blocked.release.countDown();
+        await(() -> waiting.sent.size() == 1);
+    }
+
+    @Test
+    void blockedWriter_getsReplacementThreadSoOthersStillReceive() throws Exception {
+        fanout = new SseFanout("test", 1, 2, 4, SseFanout.Overflow.COALESCE, 60_000);
+        GatedEmitter blocked = blockedSubscriber("a");
+        GatedEmitter healthy = new GatedEmitter(false);
+        fanout.subscribe("b", healthy, 0);
+        Thread.sleep(SseFanout.SLOW_SEND_MS + 100);
+
+        assertEquals(1, fanout.rebalance());
+        await(() -> healthy.sent.size() == 1);
+        blocked.release.countDown();
+    }
+
+    private GatedEmitter blockedSubscriber(String topic) throws InterruptedException {
+        GatedEmitter em = new GatedEmitter(true);
+        fanout.subscribe(topic, em, 0);
+        assertTrue(em.entered.await(5, TimeUnit.SECONDS)); // the ping is now stuck in send
+        return em;
+    }
+
+    private static SseFanout.Event event(String data, String key) {
+        return new SseFanout.Event(SseFrame.of("e", data), key);
+    }
+
+    private static String frame(String data) {
+        return "event:e\ndata:" + data + "\n\n";
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("timed out");
+            Thread.sleep(5);
+        }
+    }
+}
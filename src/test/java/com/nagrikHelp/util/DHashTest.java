@@ -0,0 +1,98 @@
+package com.nagrikHelp.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DHashTest {
+
+    @Test
+    void resizedAndRecompressedCopy_staysWithinIndexedDistance() throws Exception {
+        BufferedImage original = scene(1200, 900, 9, 7);
+        BufferedImage copy = ImageIO.read(new ByteArrayInputStream(
+                ImageResizer.encodeJpeg(ImageResizer.scaleToWidth(original, 480))));
+        int d = DHash.distance(DHash.of(original), DHash.of(copy));
+        assertTrue(d <= DHash.INDEXED_DISTANCE, "distance " + d);
+    }
+
+    // Decoders subsample by whole pixels; a fine grain over the scene aliases unless cells are area-averaged
+    @Test
+    void texturedPhoto_hashesAlikeAtEveryDecodeResolution() throws Exception {
+        BufferedImage original = textured(2400, 1800);
+        long reference = DHash.of(original);
+        for (int step : new int[]{2, 3, 5, 9, 19}) {
+            int d = DHash.distance(reference, DHash.of(subsample(original, step)));
+            assertTrue(d <= DHash.INDEXED_DISTANCE, "subsampled 1/" + step + ": distance " + d);
+        }
+        for (int width : new int[]{1280, 640, 320}) {
+            BufferedImage copy = ImageIO.read(new ByteArrayInputStream(
+                    ImageResizer.encodeJpeg(ImageResizer.scaleToWidth(original, width))));
+            int d = DHash.distance(reference, DHash.of(copy));
+            assertTrue(d <= DHash.INDEXED_DISTANCE, width + " px: distance " + d);
+        }
+    }
+
+    @Test
+    void differentScene_isFarApart() {
+        int d = DHash.distance(DHash.of(scene(800, 600, 9, 7)), DHash.of(scene(800, 600, 4, 13)));
+        assertTrue(d > 16, "distance " + d);
+    }
+
+    @Test
+    void chunks_shareAKeyWhenWithinIndexedDistance() {
+        long a = 0x0123_4567_89AB_CDEFL;
+        long b = a ^ (1L << 3) ^ (1L << 20) ^ (1L << 40); // three bits, three different chunks
+        Set<Integer> keys = new HashSet<>(DHash.chunks(a));
+        List<Integer> other = DHash.chunks(b);
+        assertEquals(DHash.CHUNKS, keys.size());
+        assertTrue(other.stream().anyMatch(keys::contains));
+    }
+
+    // The smooth scene under a 2 px checker grain plus noise, like gravel or asphalt in a street photo
+    private static BufferedImage textured(int w, int h) {
+        BufferedImage img = scene(w, h, 9, 7);
+        Random noise = new Random(42);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int grain = ((x / 2 + y / 2) % 2 == 0 ? 40 : -40) + noise.nextInt(41) - 20;
+                int p = img.getRGB(x, y);
+                int r = clamp((p >> 16 & 0xFF) + grain), g = clamp((p >> 8 & 0xFF) - grain), b = clamp((p & 0xFF) + grain / 2);
+                img.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return img;
+    }
+
+    private static BufferedImage subsample(BufferedImage src, int step) {
+        BufferedImage out = new BufferedImage(src.getWidth() / step, src.getHeight() / step, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < out.getHeight(); y++) {
+            for (int x = 0; x < out.getWidth(); x++) out.setRGB(x, y, src.getRGB(x * step, y * step));
+        }
+        return out;
+    }
+
+    private static int clamp(int v) {
+        return Math.max(0, Math.min(255, v));
+    }
+
+    // Smooth shapes rather than noise, like a real photo; the frequencies decide the layout
+    private static BufferedImage scene(int w, int h, double fx, double fy) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                double v = Math.sin(x * fx / w) * Math.cos(y * fy / h) + (double) x / w;
+                int c = (int) Math.max(0, Math.min(255, 110 + v * 90));
+                img.setRGB(x, y, (c << 16) | ((255 - c) << 8) | (c / 2));
+            }
+        }
+        return img;
+    }
+}
@@ -0,0 +1,35 @@
+package com.nagrikHelp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashTest {
+
+    @Test
+    void encode_matchesReferenceValues() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("tdr1v", Geohash.encode(12.9716, 77.5946, 5)); // Bengaluru
+    }
+
+    @Test
+    void cover_includesCellOfEveryCornerAndNoDuplicates() {
+        double minLat = 12.90, minLon = 77.50, maxLat = 13.05, maxLon = 77.70;
+        List<String> cells = Geohash.cover(minLat, minLon, maxLat, maxLon, 5, 1000);
+        assertNotNull(cells);
+        assertEquals(cells.size(), new HashSet<>(cells).size());
+        assertEquals(Geohash.cellCount(minLat, minLon, maxLat, maxLon, 5), cells.size());
+        assertTrue(cells.contains(Geohash.encode(minLat, minLon, 5)));
+        assertTrue(cells.contains(Geohash.encode(maxLat, maxLon, 5)));
+        assertTrue(cells.contains(Geohash.encode(minLat, maxLon, 5)));
+        assertTrue(cells.contains(Geohash.encode(maxLat, minLon, 5)));
+    }
+
+    @Test
+    void cover_refusesTooManyCells() {
+        assertNull(Geohash.cover(8, 68, 28, 88, 7, 500));
+    }
+}
@@ -0,0 +1,30 @@
+package com.nagrikHelp.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    void string_escapesQuotesBackslashesAndControls() {
+        assertEquals("\"say \\\"hi\\\" \\\\ bye\"", Json.string("say \"hi\" \\ bye"));
+        assertEquals("\"a\\nb\\r\\tc\"", Json.string("a\nb\r\tc"));
+        assertEquals("\"\\u0000\\u001f\"", Json.string("\u0000\u001f"));
+        assertEquals("\"\\u2028\"", Json.string("\u2028"));
+    }
+
+    @Test
+    void string_passesUnicodeThroughAndHandlesNull() {
+        assertEquals("\"सड़क में गड्ढा 🚧\"", Json.string("सड़क में गड्ढा 🚧"));
+        assertEquals("null", Json.string(null));
+        assertEquals("\"\"", Json.string(""));
+    }
+
+    @Test
+    void string_appendsToExistingBuilder() {
+        StringBuilder sb = new StringBuilder("{\"text\":");
+        Json.string(sb, "x\"y").append('}');
+        assertEquals("{\"text\":\"x\\\"y\"}", sb.toString());
+    }
+}
@@ -0,0 +1,35 @@
+package com.nagrikHelp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashTest {
+
+    @Test
+    void signature_isStableAndIgnoresCaseAndPunctuation() {
+        int[] a = MinHash.signature("Huge pothole near MG Road metro!");
+        int[] b = MinHash.signature("huge pothole, near mg road metro");
+        assertArrayEquals(a, b);
+        assertEquals(1.0, MinHash.similarity(a, b));
+        assertNull(MinHash.signature(" ?! "));
+    }
+
+    @Test
+    void similarTexts_shareABand() {
+        int[] a = MinHash.signature("Deep pothole on MG Road near the metro station, two wheelers falling");
+        int[] b = MinHash.signature("Deep potholes on M.G. Road near metro station - two-wheelers keep falling");
+        assertTrue(MinHash.similarity(a, b) > 0.4, "similarity " + MinHash.similarity(a, b));
+        long[] ka = MinHash.bands(a), kb = MinHash.bands(b);
+        assertTrue(Arrays.stream(ka).anyMatch(k -> Arrays.stream(kb).anyMatch(x -> x == k)));
+    }
+
+    @Test
+    void unrelatedTexts_scoreLow() {
+        int[] a = MinHash.signature("Deep pothole on MG Road near the metro station");
+        int[] b = MinHash.signature("Streetlight not working in 4th block park since Monday");
+        assertTrue(MinHash.similarity(a, b) < 0.2, "similarity " + MinHash.similarity(a, b));
+    }
+}
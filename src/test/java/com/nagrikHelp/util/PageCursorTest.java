@@ -0,0 +1,31 @@
+package com.nagrikHelp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void encodeDecode_roundTripsTimeCursor() {
+        Date t = new Date(1_700_000_000_123L);
+        PageCursor c = PageCursor.of(t, "65a1f0c2e4b0a1b2c3d4e5f6");
+        PageCursor back = PageCursor.decode(c.encode());
+        assertEquals(t, back.timeKey());
+        assertEquals("65a1f0c2e4b0a1b2c3d4e5f6", back.id());
+    }
+
+    @Test
+    void decode_blankMeansFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode("  "));
+    }
+
+    @Test
+    void decode_rejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not-a-cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("Zm9vYmFy")); // "foobar", no separator
+    }
+}
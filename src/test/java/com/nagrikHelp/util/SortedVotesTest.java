@@ -0,0 +1,43 @@
+package com.nagrikHelp.util;
+
+import com.nagrikHelp.model.VoteValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedVotesTest {
+
+    @Test
+    void of_looksUpEveryVote() {
+        Map<String, VoteValue> m = new HashMap<>();
+        m.put("c", VoteValue.UP);
+        m.put("a", VoteValue.DOWN);
+        m.put("b", VoteValue.UP);
+        SortedVotes v = SortedVotes.of(m);
+        assertEquals(3, v.size());
+        assertEquals(VoteValue.DOWN, v.get("a"));
+        assertEquals(VoteValue.UP, v.get("b"));
+        assertEquals(VoteValue.UP, v.get("c"));
+        assertNull(v.get("d"));
+    }
+
+    @Test
+    void with_insertsSwitchesAndRemoves() {
+        SortedVotes v = SortedVotes.EMPTY.with("m", VoteValue.UP).with("a", VoteValue.UP).with("z", VoteValue.DOWN);
+        assertEquals(3, v.size());
+        assertEquals(VoteValue.UP, v.get("a"));
+
+        SortedVotes switched = v.with("a", VoteValue.DOWN);
+        assertEquals(VoteValue.DOWN, switched.get("a"));
+        assertEquals(VoteValue.UP, v.get("a"), "original is unchanged");
+
+        SortedVotes removed = switched.with("m", null);
+        assertEquals(2, removed.size());
+        assertNull(removed.get("m"));
+        assertEquals(VoteValue.DOWN, removed.get("z"));
+        assertSame(removed, removed.with("missing", null));
+    }
+}